@@ -0,0 +1,119 @@
+package com.tcc.alzheimer;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Ajustes de banco do chat que o ddl-auto não cobre. Cada passo é idempotente
+ * e pode ser executado a cada inicialização.
+ */
+@Component
+@Order(4)
+@RequiredArgsConstructor
+public class ChatSchemaRunner implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        alignChatMessageSequence();
+        backfillChatSummaries();
+        createMessageArchive();
+        createMessageSearchIndex();
+    }
+
+    /**
+     * chat_message passou de IDENTITY para a sequência chat_message_seq (alocação
+     * de 50). Posiciona a sequência acima do maior id existente, com folga de um
+     * bloco, para que os ids gerados nunca colidam com os antigos.
+     */
+    private void alignChatMessageSequence() {
+        jdbcTemplate.queryForList("""
+                SELECT setval('chat_message_seq', m.max_id + 50, false)
+                FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM chat_message) m, chat_message_seq s
+                WHERE s.last_value < m.max_id + 50
+                """);
+    }
+
+    /**
+     * Preenche chat_summary e o contador de não lidas dos chats que já tinham
+     * mensagens antes da introdução do resumo.
+     */
+    private void backfillChatSummaries() {
+        int members = jdbcTemplate.update("""
+                UPDATE chat_user cu
+                SET unread_count = (
+                    SELECT COUNT(*) FROM chat_message m
+                    WHERE m.chat_id = cu.chat_id
+                      AND m.id > COALESCE(cu.last_read_message_id, 0)
+                      AND m.sender_id <> cu.user_id)
+                WHERE NOT EXISTS (SELECT 1 FROM chat_summary s WHERE s.chat_id = cu.chat_id)
+                  AND EXISTS (SELECT 1 FROM chat_message m WHERE m.chat_id = cu.chat_id)
+                """);
+
+        int chats = jdbcTemplate.update("""
+                INSERT INTO chat_summary (chat_id, last_message_id, last_message_preview, last_message_type,
+                                          last_sender_id, last_sent_at, message_count)
+                SELECT c.id, lm.id, LEFT(lm.message, 200), lm.type, lm.sender_id, lm.sent_at,
+                       (SELECT COUNT(*) FROM chat_message m WHERE m.chat_id = c.id)
+                FROM chat c
+                JOIN LATERAL (
+                    SELECT m.id, m.message, m.type, m.sender_id, m.sent_at
+                    FROM chat_message m
+                    WHERE m.chat_id = c.id
+                    ORDER BY m.sent_at DESC, m.id DESC
+                    LIMIT 1) lm ON true
+                WHERE NOT EXISTS (SELECT 1 FROM chat_summary s WHERE s.chat_id = c.id)
+                """);
+
+        if (chats > 0) {
+            System.out.println(">>> ChatSchemaRunner: " + chats + " resumos de chat criados, "
+                    + members + " contadores de não lidas recalculados.");
+        }
+    }
+
+    /**
+     * Arquivo de mensagens antigas, particionado por mês de envio. As partições
+     * são criadas sob demanda pelo ChatArchiveService; os índices declarados na
+     * tabela-mãe são propagados para cada partição.
+     */
+    private void createMessageArchive() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS chat_message_archive (
+                    id BIGINT NOT NULL,
+                    chat_id BIGINT NOT NULL,
+                    sender_id BIGINT NOT NULL,
+                    message VARCHAR(1000) NOT NULL,
+                    type VARCHAR(50) NOT NULL,
+                    sent_at TIMESTAMP(6) NOT NULL,
+                    PRIMARY KEY (sent_at, id)
+                ) PARTITION BY RANGE (sent_at)
+                """);
+        jdbcTemplate.execute("""
+                CREATE INDEX IF NOT EXISTS idx_chat_message_archive_chat_sent_id
+                ON chat_message_archive (chat_id, sent_at, id)
+                """);
+        jdbcTemplate.execute("""
+                CREATE INDEX IF NOT EXISTS idx_chat_message_archive_fts
+                ON chat_message_archive USING GIN (to_tsvector('portuguese', message))
+                """);
+    }
+
+    /**
+     * Índice GIN da busca textual (ChatMessageRepository#search). É um índice de
+     * expressão: as consultas precisam usar exatamente
+     * to_tsvector('portuguese', message) para aproveitá-lo.
+     */
+    private void createMessageSearchIndex() {
+        jdbcTemplate.execute("""
+                CREATE INDEX IF NOT EXISTS idx_chat_message_fts
+                ON chat_message USING GIN (to_tsvector('portuguese', message))
+                """);
+    }
+}
@@ -0,0 +1,104 @@
+package com.tcc.alzheimer;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Ajustes de banco das notificações que o ddl-auto não cobre (backfills e
+ * índices parciais). Cada passo é idempotente.
+ */
+@Component
+@Order(5)
+@RequiredArgsConstructor
+public class NotificationSchemaRunner implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        backfillRecipientCreatedAt();
+        createUnreadIndex();
+        backfillNotificationPatient();
+        createNotificationArchive();
+    }
+
+    /**
+     * notification_recipient.created_at foi introduzida para o feed paginado;
+     * copia a data das notificações existentes.
+     */
+    private void backfillRecipientCreatedAt() {
+        int rows = jdbcTemplate.update("""
+                UPDATE notification_recipient nr
+                SET created_at = n.created_at
+                FROM notification n
+                WHERE n.id = nr.notification_id AND nr.created_at IS NULL
+                """);
+
+        if (rows > 0) {
+            System.out.println(">>> NotificationSchemaRunner: created_at preenchido em " + rows
+                    + " destinatários de notificação.");
+        }
+    }
+
+    /**
+     * Índice parcial com apenas as não lidas: o feed com unreadOnly percorre só
+     * essas entradas, independentemente do tamanho do histórico do usuário.
+     */
+    private void createUnreadIndex() {
+        jdbcTemplate.execute("""
+                CREATE INDEX IF NOT EXISTS idx_notification_recipient_unread
+                ON notification_recipient (recipient_id, created_at DESC, notification_id DESC)
+                WHERE read_flag = false
+                """);
+    }
+
+    /**
+     * notification.patient_id substituiu a junção com tb_requests e exam na
+     * consulta por paciente; preenche as notificações anteriores à coluna.
+     */
+    private void backfillNotificationPatient() {
+        int byAssociation = jdbcTemplate.update("""
+                UPDATE notification n
+                SET patient_id = r.patient_id
+                FROM tb_requests r
+                WHERE n.association_id = r.id AND n.patient_id IS NULL AND r.patient_id IS NOT NULL
+                """);
+        int byExam = jdbcTemplate.update("""
+                UPDATE notification n
+                SET patient_id = e.patient_id
+                FROM exam e
+                WHERE n.exam_id = e.id AND n.patient_id IS NULL
+                """);
+
+        if (byAssociation + byExam > 0) {
+            System.out.println(">>> NotificationSchemaRunner: paciente preenchido em " + (byAssociation + byExam)
+                    + " notificações.");
+        }
+    }
+
+    /**
+     * Arquivo da retenção de notificações. LIKE copia os tipos das colunas de
+     * notification (inclusive a do enum); os destinatários ficam em um array.
+     */
+    private void createNotificationArchive() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS notification_archive (
+                    LIKE notification,
+                    recipient_ids BIGINT[] NOT NULL,
+                    last_read_at TIMESTAMP(6),
+                    archived_at TIMESTAMP(6) NOT NULL,
+                    PRIMARY KEY (id)
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE INDEX IF NOT EXISTS idx_notification_archive_patient_id
+                ON notification_archive (patient_id, id)
+                """);
+    }
+}
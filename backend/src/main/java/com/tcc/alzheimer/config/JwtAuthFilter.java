@@ -2,28 +2,53 @@ package com.tcc.alzheimer.config;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.tcc.alzheimer.service.auth.AuthService;
+
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Autentica a requisição a partir do JWT (header Authorization ou cookie
+ * "token"). Executado em toda requisição: os logs são de nível DEBUG, com
+ * amostragem configurável em {@code security.jwt.log-sample-rate}, e nunca
+ * incluem o token completo.
+ */
+@Slf4j
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final int REDACTED_SUFFIX_LENGTH = 6;
+
+    private final JwtClaimsCache claimsCache;
+    private final double logSampleRate;
+    // poucas roles possíveis: a lista de authorities de cada uma é reaproveitada
+    private final Map<String, List<GrantedAuthority>> authoritiesByRole = new ConcurrentHashMap<>();
+
+    public JwtAuthFilter(
+            JwtClaimsCache claimsCache,
+            @Value("${security.jwt.log-sample-rate:1.0}") double logSampleRate) {
+        this.claimsCache = claimsCache;
+        this.logSampleRate = logSampleRate;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -31,12 +56,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
 
         String jwt = null;
+        String source = null;
 
         // 1️⃣ Tenta pegar do header Authorization por padrao da session
         String authHeader = request.getHeader("Authorization");
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
-            System.out.println("[JwtAuthFilter] JWT encontrado no header Authorization: " + jwt);
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+            jwt = authHeader.substring(BEARER_PREFIX.length());
+            source = "header";
         }
 
         // 2️⃣ Se não encontrou no header, tenta pegar do cookie "token"
@@ -44,7 +70,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             for (Cookie cookie : request.getCookies()) {
                 if ("token".equals(cookie.getName())) {
                     jwt = cookie.getValue();
-                    System.out.println("[JwtAuthFilter] JWT encontrado no cookie 'token': " + jwt);
+                    source = "cookie";
                     break;
                 }
             }
@@ -52,38 +78,54 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         if (jwt != null) {
             try {
-                Claims claims = Jwts.parserBuilder()
-                        .setSigningKey(jwtSecret.getBytes())
-                        .build()
-                        .parseClaimsJws(jwt)
-                        .getBody();
+                Claims claims = claimsCache.parse(jwt);
 
                 String username = claims.getSubject();
                 String role = claims.get("role", String.class);
 
-                System.out.println("[JwtAuthFilter] Claims extraídas do JWT: username=" + username + ", role=" + role);
-
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                     UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    username,
-                                    null,
-                                    role != null ? Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-                                                 : Collections.emptyList()
-                            );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                            new UsernamePasswordAuthenticationToken(username, null, authoritiesFor(role));
+                    authToken.setDetails(new JwtAuthenticationDetails(request,
+                            claims.get(AuthService.UID_CLAIM, Long.class)));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
 
-                    System.out.println("[JwtAuthFilter] Authentication setado no SecurityContext para usuário: " + username);
+                    if (shouldLog()) {
+                        log.debug("JWT aceito: source={}, user={}, role={}, token={}",
+                                source, username, role, redact(jwt));
+                    }
                 }
 
             } catch (Exception e) {
-                System.out.println("[JwtAuthFilter] JWT inválido: " + e.getMessage());
+                if (shouldLog()) {
+                    log.debug("JWT invalido: source={}, token={}, error={}", source, redact(jwt), e.getMessage());
+                }
             }
-        } else {
-            System.out.println("[JwtAuthFilter] Nenhum JWT encontrado na requisição");
+        } else if (shouldLog()) {
+            log.debug("Nenhum JWT na requisicao: {} {}", request.getMethod(), request.getRequestURI());
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private List<GrantedAuthority> authoritiesFor(String role) {
+        if (role == null) {
+            return Collections.emptyList();
+        }
+        return authoritiesByRole.computeIfAbsent(role,
+                key -> List.of(new SimpleGrantedAuthority("ROLE_" + key)));
+    }
+
+    // o nível é verificado antes do sorteio: com DEBUG desligado nada é feito
+    private boolean shouldLog() {
+        return log.isDebugEnabled()
+                && (logSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < logSampleRate);
+    }
+
+    private static String redact(String token) {
+        if (token.length() <= REDACTED_SUFFIX_LENGTH) {
+            return "***";
+        }
+        return "***" + token.substring(token.length() - REDACTED_SUFFIX_LENGTH);
+    }
 }
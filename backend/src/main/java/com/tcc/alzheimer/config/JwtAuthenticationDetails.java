@@ -0,0 +1,23 @@
+package com.tcc.alzheimer.config;
+
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Detalhes da autenticação com a claim {@code uid} do access token, nula para
+ * tokens emitidos antes dela existir.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class JwtAuthenticationDetails extends WebAuthenticationDetails {
+
+    private final Long userId;
+
+    public JwtAuthenticationDetails(HttpServletRequest request, Long userId) {
+        super(request);
+        this.userId = userId;
+    }
+}
@@ -0,0 +1,88 @@
+package com.tcc.alzheimer.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+
+/**
+ * Cache das claims de tokens já verificados, indexado pelo hash SHA-256 do
+ * token. Clientes que fazem polling reenviam o mesmo access token durante toda
+ * a sua validade; com o cache a assinatura é verificada uma única vez e cada
+ * entrada vale somente até o {@code exp} do token.
+ */
+@Component
+public class JwtClaimsCache {
+
+    private final JwtParser jwtParser;
+    private final boolean enabled;
+    private final int maxSize;
+    private final Map<String, CachedClaims> entries = new ConcurrentHashMap<>();
+
+    public JwtClaimsCache(
+            JwtParser jwtParser,
+            @Value("${security.jwt.claims-cache.enabled:true}") boolean enabled,
+            @Value("${security.jwt.claims-cache.max-size:10000}") int maxSize) {
+        this.jwtParser = jwtParser;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @throws JwtException se o token for inválido ou estiver expirado
+     */
+    public Claims parse(String token) {
+        if (!enabled) {
+            return jwtParser.parseClaimsJws(token).getBody();
+        }
+
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+
+        CachedClaims cached = entries.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                return cached.claims();
+            }
+            entries.remove(key, cached);
+        }
+
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        // tokens sem exp não são guardados: não haveria quando descartá-los
+        if (expiration != null && reserveSlot(now)) {
+            entries.put(key, new CachedClaims(claims, expiration.getTime()));
+        }
+        return claims;
+    }
+
+    private boolean reserveSlot(long now) {
+        if (entries.size() < maxSize) {
+            return true;
+        }
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        return entries.size() < maxSize;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponivel", e);
+        }
+    }
+
+    private record CachedClaims(Claims claims, long expiresAt) {
+    }
+}
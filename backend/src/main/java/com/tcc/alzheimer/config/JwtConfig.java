@@ -0,0 +1,33 @@
+package com.tcc.alzheimer.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Chave de assinatura e parser de JWT compartilhados pelo {@link JwtAuthFilter}
+ * e pelo {@code AuthService}. O parser construído é imutável e seguro para uso
+ * concorrente, então não precisa ser recriado a cada requisição.
+ */
+@Configuration
+public class JwtConfig {
+
+    @Bean
+    public Key jwtSigningKey(@Value("${jwt.secret}") String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Bean
+    public JwtParser jwtParser(Key jwtSigningKey) {
+        return Jwts.parserBuilder()
+                .setSigningKey(jwtSigningKey)
+                .build();
+    }
+}
@@ -9,9 +9,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.tcc.alzheimer.dto.chat.ChatCreateRequestDTO;
+import com.tcc.alzheimer.dto.chat.ChatInboxResponseDTO;
+import com.tcc.alzheimer.dto.chat.ChatMessageSearchResponseDTO;
 import com.tcc.alzheimer.dto.chat.ChatParticipantsAddRequestDTO;
 import com.tcc.alzheimer.dto.chat.ChatParticipantDTO;
 import com.tcc.alzheimer.dto.chat.ChatResponseDTO;
@@ -45,6 +48,21 @@ public class ChatController {
         return ResponseEntity.ok(chatService.listMyChats());
     }
 
+    // Variante paginada: /chats?cursor= retorna a primeira página; as seguintes usam o nextCursor
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ChatInboxResponseDTO> listMyChatsPage(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(chatService.listMyChats(cursor, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ChatMessageSearchResponseDTO> searchMessages(@RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(chatService.searchMessages(query, cursor, size));
+    }
+
     @GetMapping("/{chatId}")
     public ResponseEntity<ChatResponseDTO> getChat(@PathVariable Long chatId) {
         return ResponseEntity.ok(chatService.getChat(chatId));
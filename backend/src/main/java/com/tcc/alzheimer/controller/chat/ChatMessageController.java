@@ -3,20 +3,27 @@ package com.tcc.alzheimer.controller.chat;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.tcc.alzheimer.dto.chat.ChatMessageBulkCreateRequestDTO;
+import com.tcc.alzheimer.dto.chat.ChatMessageBulkResponseDTO;
 import com.tcc.alzheimer.dto.chat.ChatMessageCreateRequestDTO;
 import com.tcc.alzheimer.dto.chat.ChatLastReadUpdateRequestDTO;
 import com.tcc.alzheimer.dto.chat.ChatMessageResponseDTO;
+import com.tcc.alzheimer.dto.chat.ChatMessageSliceResponseDTO;
 import com.tcc.alzheimer.service.chat.ChatService;
+import com.tcc.alzheimer.service.chat.ChatStreamService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +35,7 @@ import org.springframework.data.domain.Page;
 public class ChatMessageController {
 
     private final ChatService chatService;
+    private final ChatStreamService chatStreamService;
 
     @GetMapping
     public ResponseEntity<Page<ChatMessageResponseDTO>> listMessages(
@@ -38,6 +46,16 @@ public class ChatMessageController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/history")
+    public ResponseEntity<ChatMessageSliceResponseDTO> listMessageHistory(
+            @PathVariable Long chatId,
+            @RequestParam(name = "before", required = false) String before,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        ChatMessageSliceResponseDTO response = chatService.listMessageHistory(chatId, before, after, size);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/new")
     public ResponseEntity<List<ChatMessageResponseDTO>> listNewMessages(
             @PathVariable Long chatId,
@@ -46,6 +64,15 @@ public class ChatMessageController {
         return ResponseEntity.ok(response);
     }
 
+    // O navegador reenvia o Last-Event-ID ao reconectar; afterMessageId cobre clientes sem EventSource
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMessages(
+            @PathVariable Long chatId,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(name = "afterMessageId", required = false) Long afterMessageId) {
+        return chatStreamService.subscribe(chatId, lastEventId != null ? lastEventId : afterMessageId);
+    }
+
     @PostMapping
     public ResponseEntity<ChatMessageResponseDTO> sendMessage(@PathVariable Long chatId,
             @Valid @RequestBody ChatMessageCreateRequestDTO request) {
@@ -53,6 +80,13 @@ public class ChatMessageController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<ChatMessageBulkResponseDTO> importMessages(@PathVariable Long chatId,
+            @Valid @RequestBody ChatMessageBulkCreateRequestDTO request) {
+        ChatMessageBulkResponseDTO response = chatService.importMessages(chatId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @PatchMapping("/read")
     public ResponseEntity<Void> updateLastRead(
             @PathVariable Long chatId,
@@ -3,6 +3,7 @@ package com.tcc.alzheimer.controller.notification;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,16 +13,24 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.tcc.alzheimer.dto.notifications.NotificationBulkReadRequest;
+import com.tcc.alzheimer.dto.notifications.NotificationBulkReadResponse;
 import com.tcc.alzheimer.dto.notifications.NotificationCreateRequest;
+import com.tcc.alzheimer.dto.notifications.NotificationFeedResponse;
+import com.tcc.alzheimer.dto.notifications.NotificationPageResponse;
 import com.tcc.alzheimer.dto.notifications.NotificationRecipientResponse;
 import com.tcc.alzheimer.dto.notifications.NotificationResponse;
+import com.tcc.alzheimer.dto.notifications.NotificationUnreadCountResponse;
 import com.tcc.alzheimer.exception.ResourceNotFoundException;
 import com.tcc.alzheimer.repository.roles.UserRepository;
 import com.tcc.alzheimer.service.notifications.NotificationService;
+import com.tcc.alzheimer.service.notifications.NotificationStreamService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -33,11 +42,13 @@ import lombok.RequiredArgsConstructor;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamService notificationStreamService;
     private final UserRepository userRepository;
 
     @PostMapping
-    public ResponseEntity<NotificationResponse> create(@Valid @RequestBody NotificationCreateRequest request) {
-        var response = notificationService.createAndSend(request);
+    public ResponseEntity<NotificationResponse> create(@Valid @RequestBody NotificationCreateRequest request,
+            @RequestParam(name = "recipientCountOnly", defaultValue = "false") boolean recipientCountOnly) {
+        var response = notificationService.createAndSend(request, recipientCountOnly);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -55,6 +66,47 @@ public class NotificationController {
         return ResponseEntity.ok(responses);
     }
     
+    @GetMapping("/feed")
+    public ResponseEntity<NotificationFeedResponse> listUserNotificationFeed(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "unreadOnly", defaultValue = "false") boolean unreadOnly) {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = (String) authentication.getPrincipal();
+
+        var user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado."));
+
+        return ResponseEntity.ok(notificationService.findFeed(user.getId(), cursor, size, unreadOnly));
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<NotificationUnreadCountResponse> countUnread() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = (String) authentication.getPrincipal();
+
+        var user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado."));
+
+        return ResponseEntity.ok(new NotificationUnreadCountResponse(notificationService.countUnread(user.getId())));
+    }
+
+    // O navegador reenvia o Last-Event-ID ao reconectar; lastNotificationId cobre clientes sem EventSource
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(name = "lastNotificationId", required = false) Long lastNotificationId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = (String) authentication.getPrincipal();
+
+        var user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado."));
+
+        return notificationStreamService.subscribe(user.getId(),
+                lastEventId != null ? lastEventId : lastNotificationId);
+    }
+
     @GetMapping("/patient/{patientId}")
     public ResponseEntity<List<NotificationRecipientResponse>> listNotificationsByPatient(
             @PathVariable Long patientId,
@@ -64,6 +116,14 @@ public class NotificationController {
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/patient/{patientId}/history")
+    public ResponseEntity<NotificationPageResponse> listPatientNotificationHistory(
+            @PathVariable Long patientId,
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(notificationService.findPageByPatient(patientId, cursor, size));
+    }
+
     @PatchMapping("/{notificationId}/read")
     public ResponseEntity<Void> markAsRead(@PathVariable Long notificationId) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -75,4 +135,17 @@ public class NotificationController {
         notificationService.markAsRead(user.getId(), notificationId);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @PatchMapping("/read")
+    public ResponseEntity<NotificationBulkReadResponse> markManyAsRead(
+            @RequestBody NotificationBulkReadRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = (String) authentication.getPrincipal();
+
+        var user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado."));
+
+        int updated = notificationService.markManyAsRead(user.getId(), request);
+        return ResponseEntity.ok(new NotificationBulkReadResponse(updated));
+    }
+}
@@ -0,0 +1,21 @@
+package com.tcc.alzheimer.dto.chat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageBulkCreateRequestDTO {
+
+    @NotEmpty(message = "Informe ao menos uma mensagem para importar")
+    @Size(max = 5000, message = "É possível importar no máximo 5000 mensagens por vez")
+    private List<@Valid ChatMessageImportDTO> messages = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package com.tcc.alzheimer.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageBulkResponseDTO {
+
+    private Long chatId;
+    private int imported;
+    private Long firstMessageId;
+    private Long lastMessageId;
+}
@@ -0,0 +1,31 @@
+package com.tcc.alzheimer.dto.chat;
+
+import java.time.LocalDateTime;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageImportDTO {
+
+    @NotNull(message = "Informe o remetente da mensagem")
+    private Long senderId;
+
+    @NotBlank(message = "A mensagem é obrigatória")
+    @Size(max = 1000, message = "A mensagem deve ter no máximo 1000 caracteres")
+    private String message;
+
+    @Size(max = 50, message = "O tipo deve ter no máximo 50 caracteres")
+    private String type;
+
+    // data original da conversa importada; quando ausente, usa o momento da importação
+    @PastOrPresent(message = "A data da mensagem não pode estar no futuro")
+    private LocalDateTime sentAt;
+}
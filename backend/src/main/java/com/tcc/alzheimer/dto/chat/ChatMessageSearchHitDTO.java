@@ -0,0 +1,26 @@
+package com.tcc.alzheimer.dto.chat;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageSearchHitDTO {
+
+    private Long messageId;
+    private Long chatId;
+    private String chatName;
+    private Long senderId;
+    private String senderName;
+    private LocalDateTime sentAt;
+    private Float rank;
+
+    // trecho da mensagem com os termos encontrados entre [[ e ]]
+    private String headline;
+}
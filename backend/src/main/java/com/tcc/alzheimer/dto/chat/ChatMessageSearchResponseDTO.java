@@ -0,0 +1,24 @@
+package com.tcc.alzheimer.dto.chat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageSearchResponseDTO {
+
+    @Builder.Default
+    private List<ChatMessageSearchHitDTO> hits = new ArrayList<>();
+
+    private String nextCursor;
+
+    @Builder.Default
+    private boolean hasMore = false;
+}
@@ -0,0 +1,29 @@
+package com.tcc.alzheimer.dto.chat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageSliceResponseDTO {
+
+    // sempre em ordem cronológica crescente
+    @Builder.Default
+    private List<ChatMessageResponseDTO> messages = new ArrayList<>();
+
+    private String beforeCursor;
+    private String afterCursor;
+
+    @Builder.Default
+    private boolean hasMoreBefore = false;
+
+    @Builder.Default
+    private boolean hasMoreAfter = false;
+}
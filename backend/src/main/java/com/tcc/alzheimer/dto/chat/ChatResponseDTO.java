@@ -24,6 +24,9 @@ public class ChatResponseDTO {
     @Builder.Default
     private boolean hasUnreadMessages = false;
 
+    @Builder.Default
+    private int unreadCount = 0;
+
     @Builder.Default
     private List<ChatParticipantDTO> participants = new ArrayList<>();
 }
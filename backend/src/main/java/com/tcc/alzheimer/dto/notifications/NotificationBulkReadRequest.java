@@ -0,0 +1,12 @@
+package com.tcc.alzheimer.dto.notifications;
+
+import java.util.List;
+
+/**
+ * Critério de marcação em lote; exatamente um deve ser informado.
+ */
+public record NotificationBulkReadRequest(
+        List<Long> notificationIds,
+        Long upToNotificationId,
+        boolean all
+) {}
@@ -0,0 +1,9 @@
+package com.tcc.alzheimer.dto.notifications;
+
+import java.util.List;
+
+public record NotificationFeedResponse(
+        List<NotificationRecipientResponse> notifications,
+        String nextCursor,
+        boolean hasMore) {
+}
@@ -0,0 +1,9 @@
+package com.tcc.alzheimer.dto.notifications;
+
+import java.util.List;
+
+public record NotificationPageResponse(
+        List<NotificationSummaryResponse> notifications,
+        Long nextCursor,
+        boolean hasMore) {
+}
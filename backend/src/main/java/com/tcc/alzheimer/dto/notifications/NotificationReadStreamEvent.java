@@ -0,0 +1,10 @@
+package com.tcc.alzheimer.dto.notifications;
+
+import java.util.List;
+
+public record NotificationReadStreamEvent(
+        List<Long> notificationIds,
+        Long upToNotificationId,
+        int updated,
+        long unread) {
+}
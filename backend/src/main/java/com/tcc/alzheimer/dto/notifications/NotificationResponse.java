@@ -9,6 +9,8 @@ public record NotificationResponse(
         String message,
         LocalDateTime createdAt,
         UserSummary sender,
+        int recipientCount,
+        // nulo quando a notificação foi criada com recipientCountOnly
         List<RecipientStatus> recipients) {
 
     public record UserSummary(Long id, String name, String email) {
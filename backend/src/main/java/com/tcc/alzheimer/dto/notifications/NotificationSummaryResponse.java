@@ -0,0 +1,14 @@
+package com.tcc.alzheimer.dto.notifications;
+
+import java.time.LocalDateTime;
+
+public record NotificationSummaryResponse(
+        Long id,
+        String type,
+        String title,
+        String message,
+        LocalDateTime createdAt,
+        Number examId,
+        Number associationId,
+        NotificationResponse.UserSummary sender) {
+}
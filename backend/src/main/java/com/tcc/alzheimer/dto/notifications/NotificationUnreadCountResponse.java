@@ -0,0 +1,4 @@
+package com.tcc.alzheimer.dto.notifications;
+
+public record NotificationUnreadCountResponse(long unread) {
+}
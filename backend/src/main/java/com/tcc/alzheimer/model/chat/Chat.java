@@ -21,6 +21,11 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
+/**
+ * Chat sem coleção de mensagens: chat_message só recebe inserções (via
+ * {@link ChatMessage#getChat()}) e é lido por consultas paginadas, de modo que
+ * o envio nunca carrega nem verifica o histórico inteiro.
+ */
 @Entity
 @Table(name = "chat")
 @Data
@@ -39,12 +44,6 @@ public class Chat {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
-    @OneToMany(mappedBy = "chat", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    @EqualsAndHashCode.Exclude
-    @ToString.Exclude
-    @Builder.Default
-    private List<ChatMessage> messages = new ArrayList<>();
-
     @OneToMany(mappedBy = "chat", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
@@ -67,14 +66,4 @@ public class Chat {
         participants.remove(participant);
         participant.setChat(null);
     }
-
-    public void addMessage(ChatMessage message) {
-        messages.add(message);
-        message.setChat(this);
-    }
-
-    public void removeMessage(ChatMessage message) {
-        messages.remove(message);
-        message.setChat(null);
-    }
 }
@@ -0,0 +1,67 @@
+package com.tcc.alzheimer.model.chat;
+
+import java.time.LocalDateTime;
+
+import com.tcc.alzheimer.model.roles.User;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Resumo desnormalizado do chat, mantido na mesma transação de cada envio,
+ * para que a caixa de entrada não precise consultar chat_message.
+ */
+@Entity
+@Table(name = "chat_summary")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSummary {
+
+    public static final int PREVIEW_LENGTH = 200;
+
+    @Id
+    @Column(name = "chat_id")
+    private Long chatId;
+
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_message_preview", length = PREVIEW_LENGTH)
+    private String lastMessagePreview;
+
+    @Column(name = "last_message_type", length = 50)
+    private String lastMessageType;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_sender_id", referencedColumnName = "id")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private User lastSender;
+
+    @Column(name = "last_sent_at")
+    private LocalDateTime lastSentAt;
+
+    @Column(name = "message_count", nullable = false)
+    @Builder.Default
+    private long messageCount = 0;
+
+    public static String preview(String message) {
+        if (message == null || message.length() <= PREVIEW_LENGTH) {
+            return message;
+        }
+        return message.substring(0, PREVIEW_LENGTH);
+    }
+}
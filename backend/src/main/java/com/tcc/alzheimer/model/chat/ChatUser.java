@@ -47,4 +47,9 @@ public class ChatUser {
     @Column(name = "last_read_message_id")
     private Long lastReadMessageId;
 
+    // mensagens de outros participantes após a última lida; mantido em cada envio/leitura
+    @Column(name = "unread_count", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private int unreadCount = 0;
+
 }
@@ -0,0 +1,8 @@
+package com.tcc.alzheimer.model.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    PROCESSING,
+    DONE,
+    DEAD,
+}
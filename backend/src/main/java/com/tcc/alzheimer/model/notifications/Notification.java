@@ -16,6 +16,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -28,7 +29,9 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 @Entity
-@Table(name = "notification")
+@Table(name = "notification", indexes = {
+        @Index(name = "idx_notification_patient_id", columnList = "patient_id, id"),
+        @Index(name = "idx_notification_created_at", columnList = "created_at, id") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -62,6 +65,11 @@ public class Notification {
     @JoinColumn(name = "exam_id", referencedColumnName = "id", nullable = true)
     private Exam exam;
 
+    // paciente a que a notificação se refere (via associação ou exame), gravado
+    // na criação para que a consulta por paciente use um único índice
+    @Column(name = "patient_id")
+    private Long patientId;
+
     @OneToMany(mappedBy = "notification", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
@@ -72,6 +80,13 @@ public class Notification {
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
         }
+        if (patientId == null) {
+            if (exam != null && exam.getPatient() != null) {
+                patientId = exam.getPatient().getId();
+            } else if (association != null && association.getPatient() != null) {
+                patientId = association.getPatient().getId();
+            }
+        }
     }
 
     public void addRecipient(NotificationRecipient recipient) {
@@ -0,0 +1,28 @@
+package com.tcc.alzheimer.model.notifications;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contador desnormalizado de notificações não lidas por usuário. Mantido pelo
+ * NotificationService e reconciliado periodicamente com notification_recipient.
+ */
+@Entity
+@Table(name = "notification_counter")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+}
@@ -0,0 +1,78 @@
+package com.tcc.alzheimer.model.notifications;
+
+import java.time.LocalDateTime;
+
+import com.tcc.alzheimer.model.enums.OutboxStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Notificação pendente de envio, gravada na mesma transação da operação de
+ * negócio e materializada depois pelo NotificationOutboxDispatcher.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_notification_outbox_status_next", columnList = "status, next_attempt_at, id"),
+        @Index(name = "idx_notification_outbox_status_processed", columnList = "status, processed_at") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutbox {
+
+    public static final int LAST_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // NotificationCreateRequest serializado em JSON
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(name = "notification_id")
+    private Long notificationId;
+
+    @Column(name = "last_error", length = LAST_ERROR_LENGTH)
+    private String lastError;
+
+    @PrePersist
+    public void prePersist() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
@@ -8,9 +8,11 @@ import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MapsId;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -19,7 +21,8 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 @Entity
-@Table(name = "notification_recipient")
+@Table(name = "notification_recipient", indexes = {
+        @Index(name = "idx_notification_recipient_feed", columnList = "recipient_id, created_at, notification_id") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -48,10 +51,25 @@ public class NotificationRecipient {
     @Column(name = "read_at")
     private LocalDateTime readAt;
 
+    // cópia de notification.created_at: o feed é ordenado e paginado apenas pelo
+    // índice de notification_recipient, sem junção com notification
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
     public NotificationRecipient(Notification notification, User recipient) {
         this.notification = notification;
         this.recipient = recipient;
         this.id = new NotificationRecipientId(notification.getId(), recipient.getId());
+        this.createdAt = notification.getCreatedAt();
+    }
+
+    @PrePersist
+    public void prePersist() {
+        if (createdAt == null) {
+            createdAt = notification != null && notification.getCreatedAt() != null
+                    ? notification.getCreatedAt()
+                    : LocalDateTime.now();
+        }
     }
 
     public void markAsRead() {
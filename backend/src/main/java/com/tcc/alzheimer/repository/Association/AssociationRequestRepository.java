@@ -1,6 +1,7 @@
 package com.tcc.alzheimer.repository.Association;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -20,4 +21,6 @@ public interface AssociationRequestRepository extends JpaRepository<AssociationR
     @Query("SELECT r FROM AssociationRequest r " +
            "WHERE r.creator = :user OR r.responder = :user OR r.patient = :user OR r.relation = :user")
     List<AssociationRequest> findAllVisibleToUser(@Param("user") User user);
+    @Query("SELECT r.patient.id FROM AssociationRequest r WHERE r.id = :id")
+    Optional<Long> findPatientIdById(@Param("id") Long id);
 }
@@ -0,0 +1,11 @@
+package com.tcc.alzheimer.repository.chat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha de chat_message_archive. O arquivo não é mapeado como entidade para
+ * que o ddl-auto não tente recriar a tabela particionada.
+ */
+public record ArchivedChatMessage(Long id, Long chatId, Long senderId, String message, String type,
+        LocalDateTime sentAt) {
+}
@@ -0,0 +1,117 @@
+package com.tcc.alzheimer.repository.chat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Acesso ao arquivo de mensagens antigas (chat_message_archive), particionado
+ * por mês de envio. A tabela é criada pelo ChatSchemaRunner.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChatMessageArchiveRepository {
+
+    private static final String COLUMNS = "id, chat_id, sender_id, message, type, sent_at";
+
+    private static final RowMapper<ArchivedChatMessage> ROW_MAPPER = (rs, rowNum) -> new ArchivedChatMessage(
+            rs.getLong("id"),
+            rs.getLong("chat_id"),
+            rs.getLong("sender_id"),
+            rs.getString("message"),
+            rs.getString("type"),
+            rs.getTimestamp("sent_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<ArchivedChatMessage> findLatest(Long chatId, int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + """
+                 FROM chat_message_archive
+                WHERE chat_id = ?
+                ORDER BY sent_at DESC, id DESC
+                LIMIT ?
+                """, ROW_MAPPER, chatId, limit);
+    }
+
+    public List<ArchivedChatMessage> findBefore(Long chatId, LocalDateTime sentAt, Long id, int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + """
+                 FROM chat_message_archive
+                WHERE chat_id = ? AND (sent_at, id) < (?, ?)
+                ORDER BY sent_at DESC, id DESC
+                LIMIT ?
+                """, ROW_MAPPER, chatId, Timestamp.valueOf(sentAt), id, limit);
+    }
+
+    public List<ArchivedChatMessage> findAfter(Long chatId, LocalDateTime sentAt, Long id, int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + """
+                 FROM chat_message_archive
+                WHERE chat_id = ? AND (sent_at, id) > (?, ?)
+                ORDER BY sent_at ASC, id ASC
+                LIMIT ?
+                """, ROW_MAPPER, chatId, Timestamp.valueOf(sentAt), id, limit);
+    }
+
+    public List<ArchivedChatMessage> findPage(Long chatId, long offset, int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + """
+                 FROM chat_message_archive
+                WHERE chat_id = ?
+                ORDER BY sent_at ASC, id ASC
+                OFFSET ? LIMIT ?
+                """, ROW_MAPPER, chatId, offset, limit);
+    }
+
+    public long countByChatId(Long chatId) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM chat_message_archive WHERE chat_id = ?", Long.class, chatId);
+        return count != null ? count : 0;
+    }
+
+    public LocalDateTime findNewestSentAt() {
+        Timestamp newest = jdbcTemplate.queryForObject(
+                "SELECT MAX(sent_at) FROM chat_message_archive", Timestamp.class);
+        return newest != null ? newest.toLocalDateTime() : null;
+    }
+
+    public LocalDateTime findOldestHotSentAt(LocalDateTime cutoff) {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(sent_at) FROM chat_message WHERE sent_at < ?", Timestamp.class,
+                Timestamp.valueOf(cutoff));
+        return oldest != null ? oldest.toLocalDateTime() : null;
+    }
+
+    public void createMonthlyPartition(YearMonth month) {
+        // nome e limites derivados de YearMonth: não há entrada do usuário no DDL
+        String partition = String.format("chat_message_archive_y%04dm%02d", month.getYear(), month.getMonthValue());
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition
+                + " PARTITION OF chat_message_archive FOR VALUES FROM ('" + month.atDay(1)
+                + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    /**
+     * Move até {@code batchSize} mensagens anteriores ao corte para o arquivo em
+     * um único comando. SKIP LOCKED permite execuções simultâneas em mais de uma
+     * instância sem disputa pelas mesmas linhas.
+     */
+    public int moveOlderThan(LocalDateTime cutoff, int batchSize) {
+        return jdbcTemplate.update("""
+                WITH moved AS (
+                    DELETE FROM chat_message
+                    WHERE id IN (
+                        SELECT id FROM chat_message
+                        WHERE sent_at < ?
+                        ORDER BY sent_at, id
+                        LIMIT ?
+                        FOR UPDATE SKIP LOCKED)
+                    RETURNING id, chat_id, sender_id, message, type, sent_at)
+                INSERT INTO chat_message_archive (id, chat_id, sender_id, message, type, sent_at)
+                SELECT id, chat_id, sender_id, message, type, sent_at FROM moved
+                """, Timestamp.valueOf(cutoff), batchSize);
+    }
+}
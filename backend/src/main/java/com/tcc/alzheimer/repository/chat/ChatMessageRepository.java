@@ -1,11 +1,15 @@
 package com.tcc.alzheimer.repository.chat;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.tcc.alzheimer.model.chat.ChatMessage;
 
@@ -15,5 +19,88 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
 
     List<ChatMessage> findByChatIdAndIdGreaterThanOrderBySentAtAsc(Long chatId, Long messageId);
 
+    List<ChatMessage> findByChatIdAndIdGreaterThanOrderBySentAtAscIdAsc(Long chatId, Long messageId, Pageable pageable);
+
     Optional<ChatMessage> findFirstByChatIdOrderBySentAtDescIdDesc(Long chatId);
+
+    long countByChatId(Long chatId);
+
+    // Paginação por chave (sent_at, id): Slice não executa COUNT e o custo não
+    // depende da profundidade da página (índice chat_id, sent_at, id)
+    @Query("""
+            select m from ChatMessage m
+            join fetch m.sender
+            where m.chat.id = :chatId
+            order by m.sentAt desc, m.id desc
+            """)
+    Slice<ChatMessage> findLatestByChatId(@Param("chatId") Long chatId, Pageable pageable);
+
+    @Query("""
+            select m from ChatMessage m
+            join fetch m.sender
+            where m.chat.id = :chatId
+              and (m.sentAt < :sentAt or (m.sentAt = :sentAt and m.id < :id))
+            order by m.sentAt desc, m.id desc
+            """)
+    Slice<ChatMessage> findByChatIdBefore(@Param("chatId") Long chatId, @Param("sentAt") LocalDateTime sentAt,
+            @Param("id") Long id, Pageable pageable);
+
+    @Query("""
+            select m from ChatMessage m
+            join fetch m.sender
+            where m.chat.id = :chatId
+              and (m.sentAt > :sentAt or (m.sentAt = :sentAt and m.id > :id))
+            order by m.sentAt asc, m.id asc
+            """)
+    Slice<ChatMessage> findByChatIdAfter(@Param("chatId") Long chatId, @Param("sentAt") LocalDateTime sentAt,
+            @Param("id") Long id, Pageable pageable);
+
+    // Parte "quente" da paginação por offset de ChatService.listMessages, que
+    // começa depois das mensagens arquivadas: o offset não é múltiplo do tamanho
+    // da página, por isso limit/offset explícitos em vez de Pageable
+    @Query("""
+            select m from ChatMessage m
+            join fetch m.sender
+            where m.chat.id = :chatId
+            order by m.sentAt asc, m.id asc
+            limit :limit offset :offset
+            """)
+    List<ChatMessage> findPageByChatId(@Param("chatId") Long chatId, @Param("offset") int offset,
+            @Param("limit") int limit);
+
+    // Busca textual (configuração portuguesa) restrita aos chats do usuário,
+    // inclusive mensagens arquivadas, apoiada nos índices GIN idx_chat_message_fts
+    // e idx_chat_message_archive_fts criados pelo ChatSchemaRunner.
+    // O destaque (ts_headline) só é calculado para as linhas da página.
+    // Primeira página com rank e id nulos; as seguintes recebem os valores do
+    // último item (os CASTs tipam os parâmetros quando chegam nulos).
+    @Query(value = """
+            WITH q AS (SELECT websearch_to_tsquery('portuguese', :query) AS query),
+            hits AS (
+                SELECT m.id, m.chat_id, m.sender_id, m.sent_at, m.message,
+                       ts_rank(to_tsvector('portuguese', m.message), q.query) AS rank
+                FROM (SELECT id, chat_id, sender_id, sent_at, message FROM chat_message
+                      UNION ALL
+                      SELECT id, chat_id, sender_id, sent_at, message FROM chat_message_archive) m
+                JOIN chat_user cu ON cu.chat_id = m.chat_id AND cu.user_id = :userId
+                CROSS JOIN q
+                WHERE to_tsvector('portuguese', m.message) @@ q.query
+            )
+            SELECT h.id AS "id", h.chat_id AS "chatId", c.name AS "chatName",
+                   h.sender_id AS "senderId", u.name AS "senderName", h.sent_at AS "sentAt",
+                   h.rank AS "rank",
+                   ts_headline('portuguese', h.message, q.query,
+                               'StartSel=[[, StopSel=]], MaxFragments=2, MinWords=5, MaxWords=20') AS "headline"
+            FROM (SELECT * FROM hits
+                  WHERE CAST(:rank AS real) IS NULL
+                     OR rank < CAST(:rank AS real)
+                     OR (rank = CAST(:rank AS real) AND id < CAST(:id AS bigint))
+                  ORDER BY rank DESC, id DESC LIMIT :limit) h
+            JOIN chat c ON c.id = h.chat_id
+            JOIN users u ON u.id = h.sender_id
+            CROSS JOIN q
+            ORDER BY h.rank DESC, h.id DESC
+            """, nativeQuery = true)
+    List<ChatMessageSearchHit> search(@Param("userId") Long userId, @Param("query") String query,
+            @Param("rank") Float rank, @Param("id") Long id, @Param("limit") int limit);
 }
@@ -0,0 +1,25 @@
+package com.tcc.alzheimer.repository.chat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção da busca textual em mensagens ({@link ChatMessageRepository#search}).
+ */
+public interface ChatMessageSearchHit {
+
+    Long getId();
+
+    Long getChatId();
+
+    String getChatName();
+
+    Long getSenderId();
+
+    String getSenderName();
+
+    LocalDateTime getSentAt();
+
+    Float getRank();
+
+    String getHeadline();
+}
@@ -0,0 +1,61 @@
+package com.tcc.alzheimer.repository.chat;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.tcc.alzheimer.model.chat.ChatSummary;
+
+public interface ChatSummaryRepository extends JpaRepository<ChatSummary, Long> {
+
+    @Query("""
+            select s from ChatSummary s
+            left join fetch s.lastSender
+            where s.chatId in :chatIds
+            """)
+    List<ChatSummary> findWithSenderByChatIdIn(@Param("chatIds") Collection<Long> chatIds);
+
+    // Upsert atômico: envios concorrentes serializam na linha do resumo e a
+    // última mensagem só é trocada por uma mais nova em (sent_at, id), o que
+    // também cobre importações de históricos antigos
+    @Modifying
+    @Query(value = """
+            INSERT INTO chat_summary (chat_id, last_message_id, last_message_preview, last_message_type,
+                                      last_sender_id, last_sent_at, message_count)
+            VALUES (:chatId, :messageId, :preview, :type, :senderId, :sentAt, :increment)
+            ON CONFLICT (chat_id) DO UPDATE SET
+                message_count = chat_summary.message_count + EXCLUDED.message_count,
+                last_message_preview = CASE WHEN chat_summary.last_message_id IS NULL
+                        OR (EXCLUDED.last_sent_at, EXCLUDED.last_message_id)
+                            > (chat_summary.last_sent_at, chat_summary.last_message_id)
+                    THEN EXCLUDED.last_message_preview ELSE chat_summary.last_message_preview END,
+                last_message_type = CASE WHEN chat_summary.last_message_id IS NULL
+                        OR (EXCLUDED.last_sent_at, EXCLUDED.last_message_id)
+                            > (chat_summary.last_sent_at, chat_summary.last_message_id)
+                    THEN EXCLUDED.last_message_type ELSE chat_summary.last_message_type END,
+                last_sender_id = CASE WHEN chat_summary.last_message_id IS NULL
+                        OR (EXCLUDED.last_sent_at, EXCLUDED.last_message_id)
+                            > (chat_summary.last_sent_at, chat_summary.last_message_id)
+                    THEN EXCLUDED.last_sender_id ELSE chat_summary.last_sender_id END,
+                last_sent_at = CASE WHEN chat_summary.last_message_id IS NULL
+                        OR (EXCLUDED.last_sent_at, EXCLUDED.last_message_id)
+                            > (chat_summary.last_sent_at, chat_summary.last_message_id)
+                    THEN EXCLUDED.last_sent_at ELSE chat_summary.last_sent_at END,
+                last_message_id = CASE WHEN chat_summary.last_message_id IS NULL
+                        OR (EXCLUDED.last_sent_at, EXCLUDED.last_message_id)
+                            > (chat_summary.last_sent_at, chat_summary.last_message_id)
+                    THEN EXCLUDED.last_message_id ELSE chat_summary.last_message_id END
+            """, nativeQuery = true)
+    int recordMessages(@Param("chatId") Long chatId,
+            @Param("messageId") Long messageId,
+            @Param("preview") String preview,
+            @Param("type") String type,
+            @Param("senderId") Long senderId,
+            @Param("sentAt") LocalDateTime sentAt,
+            @Param("increment") long increment);
+}
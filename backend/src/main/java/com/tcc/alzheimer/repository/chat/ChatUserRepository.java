@@ -1,9 +1,15 @@
 package com.tcc.alzheimer.repository.chat;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.tcc.alzheimer.model.chat.ChatUser;
 
@@ -16,4 +22,47 @@ public interface ChatUserRepository extends JpaRepository<ChatUser, Long> {
     Optional<ChatUser> findByChatIdAndUserId(Long chatId, Long userId);
 
     boolean existsByChatIdAndUserId(Long chatId, Long userId);
+
+    // ordenado pela última atividade: última mensagem ou, sem mensagens, a criação
+    // do chat; com Pageable.unpaged() retorna a caixa de entrada inteira
+    @Query("""
+            select cu from ChatUser cu
+            join fetch cu.chat c
+            left join ChatSummary s on s.chatId = c.id
+            where cu.user.id = :userId
+            order by coalesce(s.lastSentAt, c.createdAt) desc, c.id desc
+            """)
+    List<ChatUser> findInboxPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+            select cu from ChatUser cu
+            join fetch cu.chat c
+            left join ChatSummary s on s.chatId = c.id
+            where cu.user.id = :userId
+              and (coalesce(s.lastSentAt, c.createdAt) < :activityAt
+                   or (coalesce(s.lastSentAt, c.createdAt) = :activityAt and c.id < :chatId))
+            order by coalesce(s.lastSentAt, c.createdAt) desc, c.id desc
+            """)
+    List<ChatUser> findInboxPageByUserIdBefore(@Param("userId") Long userId,
+            @Param("activityAt") LocalDateTime activityAt, @Param("chatId") Long chatId, Pageable pageable);
+
+    @Query("select cu.user.id from ChatUser cu where cu.chat.id = :chatId")
+    List<Long> findUserIdsByChatId(@Param("chatId") Long chatId);
+
+    @Query("""
+            select cu from ChatUser cu
+            join fetch cu.user
+            where cu.chat.id in :chatIds
+            order by cu.id
+            """)
+    List<ChatUser> findWithUserByChatIdIn(@Param("chatIds") Collection<Long> chatIds);
+
+    @Modifying
+    @Query("""
+            update ChatUser cu
+            set cu.unreadCount = cu.unreadCount + :increment
+            where cu.chat.id = :chatId and cu.user.id <> :senderId
+            """)
+    int incrementUnreadCount(@Param("chatId") Long chatId, @Param("senderId") Long senderId,
+            @Param("increment") int increment);
 }
@@ -0,0 +1,96 @@
+package com.tcc.alzheimer.repository.notifications;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Arquivo compacto de notificações (notification_archive): uma linha por
+ * notificação, com os destinatários em um bigint[] no lugar das linhas de
+ * notification_recipient. A tabela é criada pelo NotificationSchemaRunner.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationArchiveRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Copia para o arquivo um lote de notificações anteriores ao corte cujos
+     * destinatários já leram todas e retorna os ids do lote. As linhas
+     * originais continuam no lugar: são removidas depois, em lotes, por
+     * {@link #deleteRecipients} e {@link #deleteArchivedNotifications}. Uma
+     * rodada interrompida é retomada na próxima; o ON CONFLICT mantém a cópia
+     * já feita.
+     */
+    public List<Long> archiveReadBefore(LocalDateTime cutoff, int batchSize) {
+        return jdbcTemplate.queryForList("""
+                WITH batch AS (
+                    SELECT n.id FROM notification n
+                    WHERE n.created_at < ?
+                      AND NOT EXISTS (
+                          SELECT 1 FROM notification_recipient nr
+                          WHERE nr.notification_id = n.id AND nr.read_flag = false)
+                    ORDER BY n.created_at, n.id
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                ), archived AS (
+                    INSERT INTO notification_archive (id, type, title, message, created_at, sender_id,
+                                                      association_id, exam_id, patient_id, recipient_ids,
+                                                      last_read_at, archived_at)
+                    SELECT n.id, n.type, n.title, n.message, n.created_at, n.sender_id,
+                           n.association_id, n.exam_id, n.patient_id,
+                           ARRAY(SELECT nr.recipient_id FROM notification_recipient nr
+                                 WHERE nr.notification_id = n.id ORDER BY nr.recipient_id),
+                           (SELECT MAX(nr.read_at) FROM notification_recipient nr WHERE nr.notification_id = n.id),
+                           now()
+                    FROM notification n
+                    JOIN batch b ON b.id = n.id
+                    ON CONFLICT (id) DO NOTHING
+                    RETURNING id
+                )
+                SELECT b.id FROM batch b
+                """,
+                Long.class, Timestamp.valueOf(cutoff), batchSize);
+    }
+
+    /**
+     * Remove no máximo {@code limit} destinatários das notificações informadas.
+     * Notificações enviadas em massa têm muitos destinatários, por isso o
+     * DELETE é limitado por linhas e não por notificações.
+     */
+    public int deleteRecipients(List<Long> notificationIds, int limit) {
+        return jdbcTemplate.update("""
+                DELETE FROM notification_recipient
+                WHERE ctid IN (
+                    SELECT ctid FROM notification_recipient
+                    WHERE notification_id = ANY (?)
+                    LIMIT ?)
+                """,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("bigint", notificationIds.toArray()));
+                    ps.setInt(2, limit);
+                });
+    }
+
+    /**
+     * Remove as notificações já arquivadas e sem destinatários restantes.
+     */
+    public int deleteArchivedNotifications(List<Long> notificationIds) {
+        return jdbcTemplate.update("""
+                DELETE FROM notification n
+                WHERE n.id = ANY (?)
+                  AND EXISTS (SELECT 1 FROM notification_archive a WHERE a.id = n.id)
+                  AND NOT EXISTS (SELECT 1 FROM notification_recipient nr WHERE nr.notification_id = n.id)
+                """,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", notificationIds.toArray())));
+    }
+
+    public record BatchResult(int notifications, int recipients) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.tcc.alzheimer.repository.notifications;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.tcc.alzheimer.model.notifications.NotificationCounter;
+
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounter, Long> {
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO notification_counter (user_id, unread_count)
+        SELECT u.id, :increment FROM users u WHERE u.id IN (:userIds)
+        ON CONFLICT (user_id) DO UPDATE
+        SET unread_count = notification_counter.unread_count + EXCLUDED.unread_count
+        """, nativeQuery = true)
+    int incrementUnread(@Param("userIds") Collection<Long> userIds, @Param("increment") long increment);
+
+    @Modifying
+    @Query(value = """
+        UPDATE notification_counter
+        SET unread_count = GREATEST(unread_count - :decrement, 0)
+        WHERE user_id = :userId
+        """, nativeQuery = true)
+    int decrementUnread(@Param("userId") Long userId, @Param("decrement") long decrement);
+
+    // Reconciliação: recalcula a partir do índice parcial de não lidas e só
+    // grava as linhas que divergem
+    @Modifying
+    @Query(value = """
+        INSERT INTO notification_counter (user_id, unread_count)
+        SELECT nr.recipient_id, COUNT(*)
+        FROM notification_recipient nr
+        WHERE nr.read_flag = false
+        GROUP BY nr.recipient_id
+        ON CONFLICT (user_id) DO UPDATE
+        SET unread_count = EXCLUDED.unread_count
+        WHERE notification_counter.unread_count <> EXCLUDED.unread_count
+        """, nativeQuery = true)
+    int reconcileUnread();
+
+    @Modifying
+    @Query(value = """
+        UPDATE notification_counter c
+        SET unread_count = 0
+        WHERE c.unread_count <> 0
+          AND NOT EXISTS (
+              SELECT 1 FROM notification_recipient nr
+              WHERE nr.recipient_id = c.user_id AND nr.read_flag = false)
+        """, nativeQuery = true)
+    int resetStaleUnread();
+}
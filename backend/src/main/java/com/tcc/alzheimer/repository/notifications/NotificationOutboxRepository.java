@@ -0,0 +1,60 @@
+package com.tcc.alzheimer.repository.notifications;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.tcc.alzheimer.model.enums.OutboxStatus;
+import com.tcc.alzheimer.model.notifications.NotificationOutbox;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // SKIP LOCKED: várias instâncias podem reivindicar lotes ao mesmo tempo sem
+    // esperar umas pelas outras nem processar a mesma entrada
+    @Query(value = """
+        SELECT * FROM notification_outbox
+        WHERE status = 'PENDING' AND next_attempt_at <= :now
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<NotificationOutbox> findDispatchable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // devolve à fila entradas de um processamento interrompido (ex.: queda da instância)
+    @Modifying
+    @Query("""
+        update NotificationOutbox o
+        set o.status = :pending, o.lockedAt = null
+        where o.status = :processing and o.lockedAt < :threshold
+    """)
+    int releaseStale(@Param("threshold") LocalDateTime threshold,
+            @Param("pending") OutboxStatus pending, @Param("processing") OutboxStatus processing);
+
+    @Query("""
+        select count(o) as pending, min(o.createdAt) as oldest
+        from NotificationOutbox o
+        where o.status in :statuses
+    """)
+    OutboxBacklogView findBacklog(@Param("statuses") Collection<OutboxStatus> statuses);
+
+    long countByStatus(OutboxStatus status);
+
+    // lote limitado e SKIP LOCKED: a limpeza não disputa bloqueios com o dispatcher
+    @Modifying
+    @Query(value = """
+        DELETE FROM notification_outbox
+        WHERE id IN (
+            SELECT id FROM notification_outbox
+            WHERE status = :status AND processed_at < :before
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED)
+        """, nativeQuery = true)
+    int deleteProcessedBefore(@Param("status") String status, @Param("before") LocalDateTime before,
+            @Param("limit") int limit);
+}
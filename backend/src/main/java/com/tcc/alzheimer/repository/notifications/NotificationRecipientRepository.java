@@ -1,7 +1,12 @@
 package com.tcc.alzheimer.repository.notifications;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -40,15 +45,117 @@ public interface NotificationRecipientRepository extends JpaRepository<Notificat
     """)
     List<NotificationRecipient> findUnreadByRecipient(@Param("userId") Long userId);
 
+    // Feed paginado por chave (created_at, notification_id) sobre o índice
+    // idx_notification_recipient_feed; as variantes "Unread" usam o índice parcial
+    // idx_notification_recipient_unread criado pelo NotificationSchemaRunner
+    @Query("""
+        select nr from NotificationRecipient nr
+        join fetch nr.notification n
+        join fetch n.sender s
+        where nr.recipient.id = :userId
+        order by nr.createdAt desc, nr.id.notificationId desc
+    """)
+    Slice<NotificationRecipient> findFeed(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+        select nr from NotificationRecipient nr
+        join fetch nr.notification n
+        join fetch n.sender s
+        where nr.recipient.id = :userId
+          and (nr.createdAt < :createdAt
+               or (nr.createdAt = :createdAt and nr.id.notificationId < :notificationId))
+        order by nr.createdAt desc, nr.id.notificationId desc
+    """)
+    Slice<NotificationRecipient> findFeedBefore(@Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("notificationId") Long notificationId,
+            Pageable pageable);
+
+    @Query("""
+        select nr from NotificationRecipient nr
+        join fetch nr.notification n
+        join fetch n.sender s
+        where nr.recipient.id = :userId and nr.readFlag = false
+        order by nr.createdAt desc, nr.id.notificationId desc
+    """)
+    Slice<NotificationRecipient> findUnreadFeed(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+        select nr from NotificationRecipient nr
+        join fetch nr.notification n
+        join fetch n.sender s
+        where nr.recipient.id = :userId and nr.readFlag = false
+          and (nr.createdAt < :createdAt
+               or (nr.createdAt = :createdAt and nr.id.notificationId < :notificationId))
+        order by nr.createdAt desc, nr.id.notificationId desc
+    """)
+    Slice<NotificationRecipient> findUnreadFeedBefore(@Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("notificationId") Long notificationId,
+            Pageable pageable);
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Transactional
     @Query("""
         update NotificationRecipient nr
         set nr.readFlag = true, nr.readAt = CURRENT_TIMESTAMP
         where nr.recipient.id = :userId and nr.notification.id = :notificationId
+          and nr.readFlag = false
     """)
     int markAsRead(@Param("userId") Long userId, @Param("notificationId") Long notificationId);
 
+    @Query("""
+        select nr from NotificationRecipient nr
+        join fetch nr.notification n
+        join fetch n.sender s
+        where nr.recipient.id = :userId and nr.id.notificationId > :notificationId
+        order by nr.id.notificationId asc
+    """)
+    List<NotificationRecipient> findByRecipientAfter(@Param("userId") Long userId,
+            @Param("notificationId") Long notificationId, Pageable pageable);
+
+    // Marcação em lote: um único UPDATE por chamada, restrito às não lidas para
+    // que o retorno seja exatamente o quanto o contador deve diminuir
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query("""
+        update NotificationRecipient nr
+        set nr.readFlag = true, nr.readAt = CURRENT_TIMESTAMP
+        where nr.recipient.id = :userId and nr.readFlag = false
+          and nr.notification.id in :notificationIds
+    """)
+    int markAsReadByIds(@Param("userId") Long userId, @Param("notificationIds") Collection<Long> notificationIds);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query("""
+        update NotificationRecipient nr
+        set nr.readFlag = true, nr.readAt = CURRENT_TIMESTAMP
+        where nr.recipient.id = :userId and nr.readFlag = false
+          and nr.notification.id <= :notificationId
+    """)
+    int markAsReadUpTo(@Param("userId") Long userId, @Param("notificationId") Long notificationId);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query("""
+        update NotificationRecipient nr
+        set nr.readFlag = true, nr.readAt = CURRENT_TIMESTAMP
+        where nr.recipient.id = :userId and nr.readFlag = false
+    """)
+    int markAllAsRead(@Param("userId") Long userId);
+
+    // Fan-out em um único INSERT ... SELECT por bloco de destinatários, sem
+    // instanciar NotificationRecipient nem tocar em User.received
+    @Modifying
+    @Query(value = """
+        INSERT INTO notification_recipient (notification_id, recipient_id, read_flag, created_at)
+        SELECT :notificationId, u.id, false, :createdAt
+        FROM users u
+        WHERE u.id IN (:recipientIds) AND u.active = true
+        ON CONFLICT DO NOTHING
+    """, nativeQuery = true)
+    int insertRecipients(@Param("notificationId") Long notificationId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("recipientIds") Collection<Long> recipientIds);
+
     @Modifying
     @Transactional
     int deleteByNotification_Id(Long notificationId);
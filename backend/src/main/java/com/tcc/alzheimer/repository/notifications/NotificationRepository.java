@@ -2,6 +2,8 @@ package com.tcc.alzheimer.repository.notifications;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,15 +17,21 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     List<Notification> findByExamId(Long examId);
 
-    @Query(value = """
-        SELECT n.*
-        FROM public.notification n
-        LEFT JOIN public.tb_requests r ON n.association_id = r.id
-        LEFT JOIN public.exam e ON n.exam_id = e.id
-        WHERE r.patient_id = :patientId
-           OR e.patient_id = :patientId
-        ORDER BY n.id DESC
-        """, nativeQuery = true
-    )
-    List<Notification> findByPatientId(@Param("patientId") Long patientId);
+    // Paginação por id sobre o índice idx_notification_patient_id (patient_id, id)
+    @Query("""
+        select n from Notification n
+        join fetch n.sender
+        where n.patientId = :patientId
+        order by n.id desc
+    """)
+    Slice<Notification> findPageByPatientId(@Param("patientId") Long patientId, Pageable pageable);
+
+    @Query("""
+        select n from Notification n
+        join fetch n.sender
+        where n.patientId = :patientId and n.id < :cursor
+        order by n.id desc
+    """)
+    Slice<Notification> findPageByPatientIdBefore(@Param("patientId") Long patientId, @Param("cursor") Long cursor,
+            Pageable pageable);
 }
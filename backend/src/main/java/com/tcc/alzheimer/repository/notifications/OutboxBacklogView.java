@@ -0,0 +1,10 @@
+package com.tcc.alzheimer.repository.notifications;
+
+import java.time.LocalDateTime;
+
+public interface OutboxBacklogView {
+
+    long getPending();
+
+    LocalDateTime getOldest();
+}
@@ -0,0 +1,17 @@
+package com.tcc.alzheimer.repository.roles;
+
+import com.tcc.alzheimer.model.enums.UserType;
+
+/**
+ * Projeção com os dados do usuário usados na autorização.
+ */
+public interface AuthenticatedUserView {
+
+    Long getId();
+
+    String getEmail();
+
+    UserType getType();
+
+    Boolean getActive();
+}
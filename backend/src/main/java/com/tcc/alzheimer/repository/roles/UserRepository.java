@@ -1,11 +1,14 @@
 package com.tcc.alzheimer.repository.roles;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.tcc.alzheimer.model.roles.User;
 import com.tcc.alzheimer.model.enums.UserType;
@@ -23,6 +26,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmailAndCpf(String email, String cpf);
     
     List<User> findByIdInAndActiveTrue(List<Long> ids);
+
+    @Query("select u.id as id, u.name as name, u.email as email from User u where u.id in :ids and u.active = true")
+    List<UserSummaryView> findActiveSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select u.id as id, u.name as name, u.email as email from User u where u.id = :id and u.active = true")
+    Optional<UserSummaryView> findActiveSummaryById(@Param("id") Long id);
+
+    @Query("select u.id as id, u.email as email, u.type as type, u.active as active "
+            + "from User u where u.email = :email and u.active = true")
+    Optional<AuthenticatedUserView> findAuthenticatedByEmail(@Param("email") String email);
+
+    @Query("select u.id as id, u.email as email, u.type as type, u.active as active "
+            + "from User u where u.id = :id and u.active = true")
+    Optional<AuthenticatedUserView> findAuthenticatedById(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :password where u.id = :id and u.password = :previousPassword")
+    int updatePassword(@Param("id") Long id, @Param("previousPassword") String previousPassword,
+            @Param("password") String password);
+
+    @Query("select u.id from User u where u.id in :ids and u.active = true")
+    List<Long> findActiveIdsByIdIn(@Param("ids") Collection<Long> ids);
     
     boolean existsByEmail(String email);
 
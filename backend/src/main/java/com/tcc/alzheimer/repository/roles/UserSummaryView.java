@@ -0,0 +1,14 @@
+package com.tcc.alzheimer.repository.roles;
+
+/**
+ * Projeção com os dados de exibição de um usuário, sem carregar a entidade
+ * (e as tabelas da herança JOINED).
+ */
+public interface UserSummaryView {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+}
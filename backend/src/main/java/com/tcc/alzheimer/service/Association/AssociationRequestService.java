@@ -28,7 +28,7 @@ import com.tcc.alzheimer.repository.roles.CaregiverRepository;
 import com.tcc.alzheimer.repository.roles.DoctorRepository;
 import com.tcc.alzheimer.repository.roles.PatientRepository;
 import com.tcc.alzheimer.repository.roles.UserRepository;
-import com.tcc.alzheimer.service.notifications.NotificationService;
+import com.tcc.alzheimer.service.notifications.NotificationOutboxService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -41,8 +41,9 @@ public class AssociationRequestService {
     private final PatientRepository patientRepo;
     private final DoctorRepository doctorRepo;
     private final CaregiverRepository caregiverRepo;
-    private final NotificationService notificationService;
+    private final NotificationOutboxService notificationOutbox;
 
+    @Transactional
     public AssociationResponseDto create(AssociationRequestCreateDto dto) {
         User creator = userRepo.findByEmailAndActiveTrue(dto.getCreatorEmail())
                 .orElseThrow(() -> new ResourceNotFoundException("Creator not found"));
@@ -267,7 +268,7 @@ public class AssociationRequestService {
                     recipientIds, 
                     request.getId()
             );
-            notificationService.createAndSend(notification);
+            notificationOutbox.enqueue(notification);
         }
     }
 
@@ -284,6 +285,6 @@ public class AssociationRequestService {
                 request.getId()
         );
 
-        notificationService.createAndSend(notification);
+        notificationOutbox.enqueue(notification);
     }
 }
\ No newline at end of file
@@ -1,51 +1,67 @@
 package com.tcc.alzheimer.service.auth;
 
-import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.function.Supplier;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import com.tcc.alzheimer.dto.auth.LoginDTO;
 import com.tcc.alzheimer.dto.auth.LoginResponseDTO;
 import com.tcc.alzheimer.dto.auth.ResetPasswordDTO;
 import com.tcc.alzheimer.dto.auth.VerifyUserDTO;
 import com.tcc.alzheimer.exception.ResourceNotFoundException;
+import com.tcc.alzheimer.exception.ServiceUnavailableException;
 import com.tcc.alzheimer.model.roles.User;
 import com.tcc.alzheimer.repository.roles.UserRepository; 
 import com.tcc.alzheimer.service.roles.UserService;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 @Service
 public class AuthService {
+    public static final String UID_CLAIM = "uid";
+
+    private static final String CURRENT_USER_ATTRIBUTE = AuthService.class.getName() + ".currentUser";
+    private static final String AUTHENTICATED_USER_ATTRIBUTE = AuthService.class.getName() + ".authenticatedUser";
+
     private final UserService userService;
     private final UserRepository userRepository; 
     
-    private final PasswordEncoder encoder;
+    private final PasswordHashingService passwordHashing;
     private final Key key;
+    private final JwtParser jwtParser;
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthService(
             UserService userService, 
             UserRepository userRepository,
-            PasswordEncoder encoder, 
-            @Value("${jwt.secret}") String secret) {
+            PasswordHashingService passwordHashing,
+            Key jwtSigningKey,
+            JwtParser jwtParser,
+            AuthenticatedUserCache authenticatedUserCache,
+            ApplicationEventPublisher eventPublisher) {
         this.userService = userService;
         this.userRepository = userRepository;
-        this.encoder = encoder;
-        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.passwordHashing = passwordHashing;
+        this.key = jwtSigningKey;
+        this.jwtParser = jwtParser;
+        this.authenticatedUserCache = authenticatedUserCache;
+        this.eventPublisher = eventPublisher;
     }
 
     // Login simples (accessToken em storage)
@@ -87,11 +103,7 @@ public class AuthService {
 
     public LoginResponseDTO refreshAccessToken(HttpServletRequest request) {
         String refreshToken = extractRefreshToken(request);
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(refreshToken)
-                .getBody();
+        Claims claims = jwtParser.parseClaimsJws(refreshToken).getBody();
 
         String email = claims.getSubject();
         User user = userService.findByEmail(email);
@@ -102,16 +114,34 @@ public class AuthService {
 
     private User validateUser(LoginDTO dto) {
         User user = userService.findByEmail(dto.email());
-        if (!encoder.matches(dto.password(), user.getPassword())) {
+        if (!passwordHashing.matches(dto.password(), user.getPassword())) {
             throw new RuntimeException("Senha inválida");
         }
+        rehashIfNeeded(user, dto.password());
         return user;
     }
 
+    // senha já conferida: se o hash usa custo diferente do configurado, é
+    // refeito agora; a condição no UPDATE ignora trocas de senha concorrentes
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHashing.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            String rehashed = passwordHashing.encode(rawPassword);
+            if (userRepository.updatePassword(user.getId(), user.getPassword(), rehashed) > 0) {
+                user.setPassword(rehashed);
+            }
+        } catch (ServiceUnavailableException e) {
+            // sem capacidade agora: tenta de novo no próximo login
+        }
+    }
+
     public String generateAccessToken(User user) {
         return Jwts.builder()
                 .setSubject(user.getEmail())
                 .claim("role", user.getType())
+                .claim(UID_CLAIM, user.getId())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + 30 * 60 * 1000)) // 30 minutos att
                 .signWith(key)
@@ -168,9 +198,53 @@ public class AuthService {
         }
     }
 
+    /**
+     * Entidade do usuário autenticado, buscada uma única vez por requisição.
+     * Quando só o id ou o tipo forem necessários, prefira
+     * {@link #getAuthenticatedUser()}.
+     */
     public User getCurrentUser() {
-        String email = getCurrentUserEmail();
-        return userService.findByEmail(email);
+        return memoizeInRequest(CURRENT_USER_ATTRIBUTE,
+                () -> userService.findByEmail(getCurrentUserEmail()));
+    }
+
+    /**
+     * Id, tipo e situação do usuário autenticado, sem carregar a entidade.
+     * Resolvido uma vez por requisição a partir do cache de usuários.
+     */
+    public AuthenticatedUser getAuthenticatedUser() {
+        return memoizeInRequest(AUTHENTICATED_USER_ATTRIBUTE, () -> {
+            String email = getCurrentUserEmail();
+            return authenticatedUserCache.findActiveByEmail(email)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Usuario com email '" + email + "' nao encontrado"));
+        });
+    }
+
+    /**
+     * Como {@link #getAuthenticatedUser()}, mas pelo id da claim {@code uid}.
+     * Também só encontra usuários ativos: um usuário desativado deixa de ser
+     * aceito assim que o cache é invalidado, mesmo com o token ainda válido.
+     */
+    public AuthenticatedUser getAuthenticatedUser(Long userId) {
+        return memoizeInRequest(AUTHENTICATED_USER_ATTRIBUTE, () -> authenticatedUserCache.findActiveById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Usuario com id '" + userId + "' nao encontrado")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T memoizeInRequest(String attribute, Supplier<T> loader) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return loader.get();
+        }
+
+        T value = (T) attributes.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+        if (value == null) {
+            value = loader.get();
+            attributes.setAttribute(attribute, value, RequestAttributes.SCOPE_REQUEST);
+        }
+        return value;
     }
 
    public Long verifyUserForReset(VerifyUserDTO dto) {
@@ -201,7 +275,8 @@ public class AuthService {
         User user = userRepository.findById(dto.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado."));
 
-        user.setPassword(encoder.encode(dto.getNewPassword())); 
+        user.setPassword(passwordHashing.encode(dto.getNewPassword())); 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
     }
 }
\ No newline at end of file
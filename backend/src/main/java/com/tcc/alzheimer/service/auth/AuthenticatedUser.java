@@ -0,0 +1,10 @@
+package com.tcc.alzheimer.service.auth;
+
+import com.tcc.alzheimer.model.enums.UserType;
+
+/**
+ * Dados do usuário autenticado necessários à autorização, sem a entidade
+ * {@code User} e as tabelas da herança JOINED.
+ */
+public record AuthenticatedUser(Long id, String email, UserType type, boolean active) {
+}
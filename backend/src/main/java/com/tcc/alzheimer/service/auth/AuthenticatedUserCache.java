@@ -0,0 +1,92 @@
+package com.tcc.alzheimer.service.auth;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.tcc.alzheimer.repository.roles.AuthenticatedUserView;
+import com.tcc.alzheimer.repository.roles.UserRepository;
+
+/**
+ * Cache de curta duração de {@link AuthenticatedUser} por e-mail e por id, para
+ * que o mesmo usuário não seja buscado em {@code users} a cada requisição. Só
+ * usuários ativos são guardados, e as entradas são descartadas ao receber um
+ * {@link UserChangedEvent}; com {@code security.user-cache.ttl-ms=0} toda
+ * consulta vai ao banco.
+ */
+@Component
+public class AuthenticatedUserCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final int maxSize;
+    private final Map<String, CachedUser> byEmail = new ConcurrentHashMap<>();
+    private final Map<Long, CachedUser> byId = new ConcurrentHashMap<>();
+
+    public AuthenticatedUserCache(
+            UserRepository userRepository,
+            @Value("${security.user-cache.ttl-ms:30000}") long ttlMs,
+            @Value("${security.user-cache.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+        this.maxSize = maxSize;
+    }
+
+    public Optional<AuthenticatedUser> findActiveByEmail(String email) {
+        return find(byEmail, email, userRepository::findAuthenticatedByEmail);
+    }
+
+    public Optional<AuthenticatedUser> findActiveById(Long id) {
+        return find(byId, id, userRepository::findAuthenticatedById);
+    }
+
+    // após o commit, para que uma requisição concorrente não volte a guardar o
+    // estado anterior; sem transação, imediatamente
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.email() != null) {
+            byEmail.remove(event.email());
+        }
+        if (event.userId() != null) {
+            byId.remove(event.userId());
+        }
+    }
+
+    private <K> Optional<AuthenticatedUser> find(Map<K, CachedUser> entries, K key,
+            Function<K, Optional<AuthenticatedUserView>> loader) {
+        long now = System.currentTimeMillis();
+
+        CachedUser cached = entries.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                return Optional.of(cached.user());
+            }
+            entries.remove(key, cached);
+        }
+
+        Optional<AuthenticatedUser> user = loader.apply(key)
+                .map(view -> new AuthenticatedUser(view.getId(), view.getEmail(), view.getType(),
+                        Boolean.TRUE.equals(view.getActive())));
+        if (user.isPresent() && ttlMs > 0 && reserveSlot(entries, now)) {
+            entries.put(key, new CachedUser(user.get(), now + ttlMs));
+        }
+        return user;
+    }
+
+    private boolean reserveSlot(Map<?, CachedUser> entries, long now) {
+        if (entries.size() < maxSize) {
+            return true;
+        }
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        return entries.size() < maxSize;
+    }
+
+    private record CachedUser(AuthenticatedUser user, long expiresAt) {
+    }
+}
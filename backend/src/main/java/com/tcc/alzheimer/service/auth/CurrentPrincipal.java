@@ -0,0 +1,46 @@
+package com.tcc.alzheimer.service.auth;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.tcc.alzheimer.config.JwtAuthenticationDetails;
+import com.tcc.alzheimer.model.enums.UserType;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Identidade do usuário autenticado. O id vem da claim {@code uid} do access
+ * token, mas só é aceito se o usuário ainda estiver ativo, conferido no
+ * {@link AuthenticatedUserCache} por id, que é invalidado na desativação.
+ * Tokens sem a claim (emitidos antes dela) são resolvidos pelo e-mail.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentPrincipal {
+
+    private final AuthService authService;
+
+    public Long id() {
+        JwtAuthenticationDetails details = tokenDetails();
+        AuthenticatedUser user = details != null && details.getUserId() != null
+                ? authService.getAuthenticatedUser(details.getUserId())
+                : authService.getAuthenticatedUser();
+        return user.id();
+    }
+
+    public String email() {
+        return authService.getCurrentUserEmail();
+    }
+
+    public UserType type() {
+        return UserType.valueOf(authService.getCurrentUserRole());
+    }
+
+    private static JwtAuthenticationDetails tokenDetails() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getDetails() instanceof JwtAuthenticationDetails details
+                ? details
+                : null;
+    }
+}
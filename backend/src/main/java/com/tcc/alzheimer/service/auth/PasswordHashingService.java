@@ -0,0 +1,123 @@
+package com.tcc.alzheimer.service.auth;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.tcc.alzheimer.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Executa o BCrypt do login em um pool limitado. Com muitos logins
+ * simultâneos, no máximo {@code security.password.hashing.threads} hashes são
+ * calculados ao mesmo tempo e o excesso (fila cheia ou espera acima do limite)
+ * recebe 503 em vez de ocupar CPU de todas as threads de requisição.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Pattern BCRYPT_PREFIX = Pattern.compile("\\$2[aby]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final long timeoutMs;
+    private final int bcryptStrength;
+    private final Counter rejected;
+
+    public PasswordHashingService(
+            PasswordEncoder encoder,
+            MeterRegistry meterRegistry,
+            @Value("${security.password.hashing.threads:0}") int threads,
+            @Value("${security.password.hashing.queue-capacity:100}") int queueCapacity,
+            @Value("${security.password.hashing.timeout-ms:5000}") long timeoutMs,
+            @Value("${security.password.bcrypt-strength:12}") int bcryptStrength) {
+        this.encoder = encoder;
+        this.timeoutMs = timeoutMs;
+        this.bcryptStrength = bcryptStrength;
+
+        // 0: um hash por núcleo
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.initialize();
+
+        this.rejected = Counter.builder("security.password.hashing.rejected")
+                .description("Verificações de senha recusadas por sobrecarga")
+                .register(meterRegistry);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Indica se o hash foi gerado com custo diferente do configurado e deve ser
+     * refeito. Não calcula hash, então roda na própria thread.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        // formato $2a$12$...: o custo fica nas posições 4 e 5
+        Matcher matcher = BCRYPT_PREFIX.matcher(encodedPassword == null ? "" : encodedPassword);
+        if (!matcher.lookingAt()) {
+            return encoder.upgradeEncoding(encodedPassword);
+        }
+        // upgradeEncoding só detecta custo menor; aqui também se refaz hashes
+        // mais caros quando o custo configurado for reduzido
+        return Integer.parseInt(matcher.group(1)) != bcryptStrength;
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw overloaded();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw overloaded();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ServiceUnavailableException overloaded() {
+        return new ServiceUnavailableException("Servico de autenticacao sobrecarregado. Tente novamente em instantes.");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,8 @@
+package com.tcc.alzheimer.service.auth;
+
+/**
+ * Publicado quando dados de autenticação de um usuário mudam (atualização,
+ * desativação ou troca de senha). {@code email} é o e-mail anterior à mudança.
+ */
+public record UserChangedEvent(Long userId, String email) {
+}
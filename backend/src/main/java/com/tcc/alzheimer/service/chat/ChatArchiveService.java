@@ -0,0 +1,104 @@
+package com.tcc.alzheimer.service.chat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tcc.alzheimer.repository.chat.ChatMessageArchiveRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Move periodicamente as mensagens antigas de chat_message para o arquivo
+ * particionado por mês, mantendo a tabela quente e seus índices pequenos.
+ * Também guarda a data da mensagem arquivada mais recente, usada pelo
+ * {@link ChatService} para decidir quando consultar o arquivo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatArchiveService {
+
+    private final ChatMessageArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${chat.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chat.archive.max-age-days:365}")
+    private int maxAgeDays;
+
+    @Value("${chat.archive.batch-size:5000}")
+    private int batchSize;
+
+    private volatile LocalDateTime newestArchivedAt;
+
+    /**
+     * Relê o limite do arquivo no banco. Além da inicialização e de cada
+     * execução do arquivamento, roda periodicamente: com várias instâncias,
+     * apenas uma move as mensagens e as demais precisam enxergar o novo limite.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${chat.archive.boundary-refresh-ms:30000}",
+            initialDelayString = "${chat.archive.boundary-refresh-ms:30000}")
+    public void refreshBoundary() {
+        newestArchivedAt = archiveRepository.findNewestSentAt();
+    }
+
+    @Scheduled(cron = "${chat.archive.cron:0 30 3 * * *}")
+    public void archiveOldMessages() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archive();
+        } finally {
+            // também quando nada foi movido aqui: outra instância pode ter movido
+            refreshBoundary();
+        }
+    }
+
+    private void archive() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(maxAgeDays).atStartOfDay();
+        LocalDateTime oldest = archiveRepository.findOldestHotSentAt(cutoff);
+        if (oldest == null) {
+            return;
+        }
+
+        for (YearMonth month = YearMonth.from(oldest); !month.isAfter(YearMonth.from(cutoff));
+                month = month.plusMonths(1)) {
+            archiveRepository.createMonthlyPartition(month);
+        }
+
+        // lotes em transações curtas para não segurar bloqueios na tabela quente
+        long moved = 0;
+        int batch;
+        do {
+            Integer count = transactionTemplate.execute(status -> archiveRepository.moveOlderThan(cutoff, batchSize));
+            batch = count != null ? count : 0;
+            moved += batch;
+        } while (batch == batchSize);
+
+        log.info("Arquivamento do chat: {} mensagens anteriores a {} movidas para chat_message_archive", moved, cutoff);
+    }
+
+    public boolean hasArchivedMessages() {
+        return newestArchivedAt != null;
+    }
+
+    /**
+     * Indica se pode haver mensagens arquivadas posteriores ao instante informado.
+     */
+    public boolean mayHaveArchivedAfter(LocalDateTime sentAt) {
+        LocalDateTime newest = newestArchivedAt;
+        return newest != null && !sentAt.isAfter(newest);
+    }
+}
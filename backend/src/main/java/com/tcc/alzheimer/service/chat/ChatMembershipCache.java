@@ -0,0 +1,93 @@
+package com.tcc.alzheimer.service.chat;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache limitado (LRU) e com expiração das verificações de participação em
+ * chats. Evita consultar chat_user a cada envio ou leitura de mensagens. Só
+ * participações confirmadas são guardadas: um usuário adicionado por outra
+ * instância ou por outro caminho é aceito já na requisição seguinte.
+ */
+@Component
+public class ChatMembershipCache {
+
+    private final Map<MembershipKey, Long> entries;
+    private final long ttlMillis;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ChatMembershipCache(MeterRegistry meterRegistry,
+            @Value("${chat.membership-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${chat.membership-cache.max-size:10000}") int maxSize) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MembershipKey, Long> eldest) {
+                return size() > maxSize;
+            }
+        });
+        this.hits = Counter.builder("chat.membership.cache")
+                .tag("result", "hit")
+                .description("Verificações de participação atendidas pelo cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("chat.membership.cache")
+                .tag("result", "miss")
+                .description("Verificações de participação que consultaram o banco")
+                .register(meterRegistry);
+        Gauge.builder("chat.membership.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * @return {@code true} se há participação confirmada e ainda válida no
+     *         cache; {@code false} significa apenas que é preciso consultar o banco
+     */
+    public boolean isMember(Long chatId, Long userId) {
+        Long expiresAt = entries.get(new MembershipKey(chatId, userId));
+        if (expiresAt == null || expiresAt < System.currentTimeMillis()) {
+            misses.increment();
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    public void putMember(Long chatId, Long userId) {
+        entries.put(new MembershipKey(chatId, userId), System.currentTimeMillis() + ttlMillis);
+    }
+
+    /**
+     * Remove as entradas do chat agora e novamente após o commit, para que uma
+     * leitura concorrente não volte a guardar o estado anterior à alteração.
+     */
+    public void evictChat(Long chatId) {
+        removeChat(chatId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeChat(chatId);
+                }
+            });
+        }
+    }
+
+    private void removeChat(Long chatId) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.chatId().equals(chatId));
+        }
+    }
+
+    private record MembershipKey(Long chatId, Long userId) {
+    }
+}
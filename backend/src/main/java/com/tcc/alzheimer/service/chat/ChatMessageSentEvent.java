@@ -0,0 +1,10 @@
+package com.tcc.alzheimer.service.chat;
+
+import com.tcc.alzheimer.dto.chat.ChatMessageResponseDTO;
+
+/**
+ * Publicado por {@link ChatService#sendMessage} e entregue aos assinantes do
+ * chat somente após o commit da transação.
+ */
+public record ChatMessageSentEvent(Long chatId, ChatMessageResponseDTO message) {
+}
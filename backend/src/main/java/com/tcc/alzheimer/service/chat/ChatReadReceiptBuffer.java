@@ -0,0 +1,86 @@
+package com.tcc.alzheimer.service.chat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Acumula confirmações de leitura em memória, mantendo apenas o maior id por
+ * (chat, usuário), e grava tudo periodicamente em um único lote de UPDATEs.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatReadReceiptBuffer {
+
+    // a validação de que a mensagem pertence ao chat acontece aqui, no próprio
+    // UPDATE, para que a requisição não precise consultar a mensagem. O contador
+    // é decrementado pelas mensagens lidas desde a última confirmação, e não
+    // recalculado: um incrementUnreadCount concorrente (envio aguardando o
+    // bloqueio da linha) não é perdido
+    private static final String FLUSH_SQL = """
+            UPDATE chat_user cu
+            SET last_read_message_id = ?,
+                unread_count = GREATEST(cu.unread_count - (
+                    SELECT COUNT(*) FROM chat_message m
+                    WHERE m.chat_id = cu.chat_id AND m.sender_id <> cu.user_id
+                      AND m.id > COALESCE(cu.last_read_message_id, 0) AND m.id <= ?), 0)
+            WHERE cu.chat_id = ? AND cu.user_id = ?
+              AND (cu.last_read_message_id IS NULL OR cu.last_read_message_id < ?)
+              AND (EXISTS (SELECT 1 FROM chat_message m WHERE m.id = ? AND m.chat_id = cu.chat_id)
+                OR EXISTS (SELECT 1 FROM chat_message_archive a WHERE a.id = ? AND a.chat_id = cu.chat_id))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<ReceiptKey, Long> pending = new ConcurrentHashMap<>();
+
+    public void record(Long chatId, Long userId, Long messageId) {
+        pending.merge(new ReceiptKey(chatId, userId), messageId, Math::max);
+    }
+
+    @Scheduled(fixedDelayString = "${chat.read-receipts.flush-interval-ms:2000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<ReceiptKey> keys = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        for (ReceiptKey key : pending.keySet()) {
+            Long messageId = pending.remove(key);
+            if (messageId != null) {
+                keys.add(key);
+                batch.add(new Object[] {
+                        messageId, messageId, key.chatId(), key.userId(), messageId, messageId, messageId });
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (DataAccessException e) {
+            // devolve ao buffer para a próxima rodada, sem sobrescrever leituras mais novas
+            for (int i = 0; i < keys.size(); i++) {
+                pending.merge(keys.get(i), (Long) batch.get(i)[0], Math::max);
+            }
+            log.warn("Falha ao gravar {} confirmações de leitura; nova tentativa no próximo ciclo", keys.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private record ReceiptKey(Long chatId, Long userId) {
+    }
+}
@@ -1,21 +1,41 @@
 package com.tcc.alzheimer.service.chat;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.tcc.alzheimer.dto.chat.ChatCreateRequestDTO;
+import com.tcc.alzheimer.dto.chat.ChatInboxResponseDTO;
+import com.tcc.alzheimer.dto.chat.ChatMessageBulkCreateRequestDTO;
+import com.tcc.alzheimer.dto.chat.ChatMessageBulkResponseDTO;
 import com.tcc.alzheimer.dto.chat.ChatMessageCreateRequestDTO;
+import com.tcc.alzheimer.dto.chat.ChatMessageImportDTO;
 import com.tcc.alzheimer.dto.chat.ChatMessageResponseDTO;
+import com.tcc.alzheimer.dto.chat.ChatMessageSearchHitDTO;
+import com.tcc.alzheimer.dto.chat.ChatMessageSearchResponseDTO;
+import com.tcc.alzheimer.dto.chat.ChatMessageSliceResponseDTO;
 import com.tcc.alzheimer.dto.chat.ChatParticipantDTO;
 import com.tcc.alzheimer.dto.chat.ChatParticipantsAddRequestDTO;
 import com.tcc.alzheimer.dto.chat.ChatResponseDTO;
@@ -24,25 +44,58 @@ import com.tcc.alzheimer.exception.ResourceConflictException;
 import com.tcc.alzheimer.exception.ResourceNotFoundException;
 import com.tcc.alzheimer.model.chat.Chat;
 import com.tcc.alzheimer.model.chat.ChatMessage;
+import com.tcc.alzheimer.model.chat.ChatSummary;
 import com.tcc.alzheimer.model.chat.ChatUser;
+import com.tcc.alzheimer.model.enums.UserType;
 import com.tcc.alzheimer.model.roles.User;
+import com.tcc.alzheimer.repository.chat.ArchivedChatMessage;
+import com.tcc.alzheimer.repository.chat.ChatMessageArchiveRepository;
 import com.tcc.alzheimer.repository.chat.ChatMessageRepository;
+import com.tcc.alzheimer.repository.chat.ChatMessageSearchHit;
 import com.tcc.alzheimer.repository.chat.ChatRepository;
+import com.tcc.alzheimer.repository.chat.ChatSummaryRepository;
 import com.tcc.alzheimer.repository.chat.ChatUserRepository;
 import com.tcc.alzheimer.repository.roles.UserRepository;
 import com.tcc.alzheimer.service.auth.AuthService;
+import com.tcc.alzheimer.service.auth.CurrentPrincipal;
+import com.tcc.alzheimer.util.KeysetCursor;
+import com.tcc.alzheimer.util.RankCursor;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class ChatService {
 
+    private static final int MAX_INBOX_PAGE_SIZE = 100;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int MIN_SEARCH_QUERY_LENGTH = 2;
+    private static final Comparator<ChatMessage> IMPORT_ORDER = Comparator
+            .comparing(ChatMessage::getSentAt)
+            .thenComparing(ChatMessage::getId);
+    private static final Comparator<ChatMessageResponseDTO> HISTORY_ORDER = Comparator
+            .comparing(ChatMessageResponseDTO::getSentAt)
+            .thenComparing(ChatMessageResponseDTO::getId);
+
     private final ChatRepository chatRepository;
     private final ChatUserRepository chatUserRepository;
     private final ChatMessageRepository chatMessageRepository;
+    private final ChatSummaryRepository chatSummaryRepository;
     private final UserRepository userRepository;
     private final AuthService authService;
+    private final CurrentPrincipal currentPrincipal;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChatReadReceiptBuffer readReceiptBuffer;
+    private final ChatMembershipCache membershipCache;
+    private final ChatArchiveService archiveService;
+    private final ChatMessageArchiveRepository archiveRepository;
+    private final EntityManager entityManager;
+
+    // acompanha hibernate.jdbc.batch_size: cada bloco vira um único batch de INSERT
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int importFlushSize;
 
     @Transactional
     public ChatResponseDTO createChat(ChatCreateRequestDTO request) {
@@ -78,6 +131,7 @@ public class ChatService {
                 });
 
         chatRepository.save(chat);
+        membershipCache.evictChat(chat.getId());
 
         ChatUser creatorMembership = chat.getParticipants().stream()
                 .filter(participant -> participant.getUser() != null
@@ -85,16 +139,16 @@ public class ChatService {
                 .findFirst()
                 .orElse(null);
 
-        return toChatResponseDTO(chat, creator, creatorMembership, true);
+        return toChatResponseDTO(chat, creator.getId(), creatorMembership, true);
     }
 
     @Transactional
     public ChatResponseDTO addParticipants(Long chatId, ChatParticipantsAddRequestDTO request) {
-        User currentUser = authService.getCurrentUser();
+        Long currentUserId = currentPrincipal.id();
         Chat chat = chatRepository.findById(chatId)
                 .orElseThrow(() -> new ResourceNotFoundException("Chat não encontrado com id: " + chatId));
 
-        ChatUser currentMembership = getMembershipOrThrow(chatId, currentUser.getId());
+        ChatUser currentMembership = getMembershipOrThrow(chatId, currentUserId);
 
         Set<Long> newParticipantIds = new LinkedHashSet<>(request.getParticipantIds());
         newParticipantIds.removeIf(Objects::isNull);
@@ -120,34 +174,72 @@ public class ChatService {
         });
 
         chatRepository.save(chat);
+        membershipCache.evictChat(chatId);
 
-        return toChatResponseDTO(chat, currentUser, currentMembership, true);
+        return toChatResponseDTO(chat, currentUserId, currentMembership, true);
     }
 
     @Transactional(readOnly = true)
     public List<ChatResponseDTO> listMyChats() {
-        User currentUser = authService.getCurrentUser();
-        List<ChatUser> memberships = chatUserRepository.findByUserId(currentUser.getId());
-        Set<Long> seenChatIds = new LinkedHashSet<>();
-        List<ChatResponseDTO> responses = new ArrayList<>();
-
-        for (ChatUser membership : memberships) {
-            Chat chat = membership.getChat();
-            if (chat != null && seenChatIds.add(chat.getId())) {
-                responses.add(toChatResponseDTO(chat, currentUser, membership, true));
-            }
+        Long currentUserId = currentPrincipal.id();
+        return toInboxResponses(chatUserRepository.findInboxPageByUserId(currentUserId, Pageable.unpaged()));
+    }
+
+    @Transactional(readOnly = true)
+    public ChatInboxResponseDTO listMyChats(String cursor, int size) {
+        Long currentUserId = currentPrincipal.id();
+
+        if (size <= 0) {
+            throw new ResourceConflictException("O tamanho da página deve ser maior que zero");
+        }
+        if (size > MAX_INBOX_PAGE_SIZE) {
+            throw new ResourceConflictException(
+                    "O tamanho da página deve ser no máximo " + MAX_INBOX_PAGE_SIZE);
         }
 
-        return responses;
+        // busca um item a mais para saber se existe próxima página sem COUNT
+        Pageable limit = PageRequest.of(0, size + 1);
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        List<ChatUser> memberships = before == null
+                ? chatUserRepository.findInboxPageByUserId(currentUserId, limit)
+                : chatUserRepository.findInboxPageByUserIdBefore(currentUserId, before.timestamp(), before.id(),
+                        limit);
+
+        boolean hasMore = memberships.size() > size;
+        if (hasMore) {
+            memberships = memberships.subList(0, size);
+        }
+
+        List<ChatResponseDTO> chats = toInboxResponses(memberships);
+
+        return ChatInboxResponseDTO.builder()
+                .chats(chats)
+                .nextCursor(hasMore ? inboxCursor(memberships.get(memberships.size() - 1).getChat()) : null)
+                .hasMore(hasMore)
+                .build();
     }
 
+    // mesma chave da ordenação da consulta; o resumo já está no contexto de
+    // persistência, carregado por toInboxResponses
+    private String inboxCursor(Chat chat) {
+        LocalDateTime activityAt = chatSummaryRepository.findById(chat.getId())
+                .map(ChatSummary::getLastSentAt)
+                .orElse(null);
+        return new KeysetCursor(activityAt != null ? activityAt : chat.getCreatedAt(), chat.getId()).encode();
+    }
+
+    /**
+     * Histórico paginado por offset, em ordem cronológica: as mensagens
+     * arquivadas vêm primeiro, seguidas das de chat_message. Mensagens
+     * importadas com {@code sentAt} anterior ao limite do arquivo ficam em
+     * chat_message até a próxima rodada de arquivamento e, até lá, aparecem
+     * depois das arquivadas, fora da ordem. Para ordem exata use
+     * {@link #listMessageHistory}.
+     */
     @Transactional(readOnly = true)
     public Page<ChatMessageResponseDTO> listMessages(Long chatId, int page, int size) {
-        User currentUser = authService.getCurrentUser();
-        getMembershipOrThrow(chatId, currentUser.getId());
-
-        chatRepository.findById(chatId)
-                .orElseThrow(() -> new ResourceNotFoundException("Chat não encontrado com id: " + chatId));
+        Long currentUserId = currentPrincipal.id();
+        ensureMembership(chatId, currentUserId);
 
         if (size <= 0) {
             throw new ResourceConflictException("O tamanho da página deve ser maior que zero");
@@ -157,31 +249,169 @@ public class ChatService {
         }
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "sentAt"));
-        return chatMessageRepository.findByChatIdOrderBySentAtAsc(chatId, pageable)
-                .map(this::toChatMessageResponseDTO);
+        long archived = archiveService.hasArchivedMessages() ? archiveRepository.countByChatId(chatId) : 0;
+        if (archived == 0) {
+            return chatMessageRepository.findByChatIdOrderBySentAtAsc(chatId, pageable)
+                    .map(this::toChatMessageResponseDTO);
+        }
+
+        // as mensagens arquivadas são as mais antigas: ocupam o início da paginação
+        long offset = pageable.getOffset();
+        List<ChatMessageResponseDTO> content = new ArrayList<>();
+        if (offset < archived) {
+            content.addAll(toArchivedResponseDTOs(archiveRepository.findPage(chatId, offset, size)));
+        }
+        if (content.size() < size) {
+            List<ChatMessage> hot = chatMessageRepository.findPageByChatId(chatId,
+                    (int) Math.max(0, offset - archived), size - content.size());
+            hot.forEach(message -> content.add(toChatMessageResponseDTO(message)));
+        }
+
+        return new PageImpl<>(content, pageable, archived + chatMessageRepository.countByChatId(chatId));
+    }
+
+    /**
+     * Histórico paginado por cursor. Sem cursores retorna as mensagens mais
+     * recentes; {@code before} carrega as anteriores e {@code after} as
+     * posteriores ao cursor informado.
+     */
+    @Transactional(readOnly = true)
+    public ChatMessageSliceResponseDTO listMessageHistory(Long chatId, String before, String after, int size) {
+        Long currentUserId = currentPrincipal.id();
+        ensureMembership(chatId, currentUserId);
+
+        if (size <= 0) {
+            throw new ResourceConflictException("O tamanho da página deve ser maior que zero");
+        }
+        if (size > MAX_HISTORY_PAGE_SIZE) {
+            throw new ResourceConflictException(
+                    "O tamanho da página deve ser no máximo " + MAX_HISTORY_PAGE_SIZE);
+        }
+        if (before != null && after != null) {
+            throw new ResourceConflictException("Informe apenas um dos cursores: before ou after");
+        }
+
+        KeysetCursor beforeCursor = KeysetCursor.decode(before);
+        KeysetCursor afterCursor = KeysetCursor.decode(after);
+        Pageable limit = PageRequest.of(0, size);
+
+        List<ChatMessageResponseDTO> messages;
+        boolean hasMoreBefore;
+        boolean hasMoreAfter;
+
+        if (afterCursor != null) {
+            Slice<ChatMessage> slice = chatMessageRepository.findByChatIdAfter(
+                    chatId, afterCursor.timestamp(), afterCursor.id(), limit);
+            messages = toChatMessageResponseDTOs(slice.getContent());
+            hasMoreAfter = slice.hasNext();
+            if (archiveService.mayHaveArchivedAfter(afterCursor.timestamp())) {
+                // o cursor está dentro do período arquivado: completa com o arquivo
+                messages = mergeHistory(messages, archiveRepository.findAfter(
+                        chatId, afterCursor.timestamp(), afterCursor.id(), size + 1), HISTORY_ORDER);
+                hasMoreAfter = hasMoreAfter || messages.size() > size;
+                messages = messages.subList(0, Math.min(size, messages.size()));
+            }
+            hasMoreBefore = true;
+        } else {
+            Slice<ChatMessage> slice = beforeCursor != null
+                    ? chatMessageRepository.findByChatIdBefore(
+                            chatId, beforeCursor.timestamp(), beforeCursor.id(), limit)
+                    : chatMessageRepository.findLatestByChatId(chatId, limit);
+            messages = toChatMessageResponseDTOs(slice.getContent());
+            hasMoreBefore = slice.hasNext();
+            if (!slice.hasNext() && archiveService.hasArchivedMessages()) {
+                // a tabela quente acabou antes de completar a página: continua no arquivo
+                List<ArchivedChatMessage> archived = beforeCursor != null
+                        ? archiveRepository.findBefore(chatId, beforeCursor.timestamp(), beforeCursor.id(), size + 1)
+                        : archiveRepository.findLatest(chatId, size + 1);
+                messages = mergeHistory(messages, archived, HISTORY_ORDER.reversed());
+                hasMoreBefore = messages.size() > size;
+                messages = messages.subList(0, Math.min(size, messages.size()));
+            }
+            // consultado do mais novo para o mais antigo; devolvido em ordem cronológica
+            messages = new ArrayList<>(messages);
+            Collections.reverse(messages);
+            hasMoreAfter = beforeCursor != null;
+        }
+
+        return toMessageSlice(messages, hasMoreBefore, hasMoreAfter);
+    }
+
+    /**
+     * Busca textual nas mensagens de todos os chats do usuário atual, ordenada
+     * por relevância. A consulta aceita a sintaxe de websearch do PostgreSQL
+     * (aspas para frases, "-" para excluir termos).
+     */
+    @Transactional(readOnly = true)
+    public ChatMessageSearchResponseDTO searchMessages(String query, String cursor, int size) {
+        Long currentUserId = currentPrincipal.id();
+
+        String normalizedQuery = query == null ? "" : query.trim();
+        if (normalizedQuery.length() < MIN_SEARCH_QUERY_LENGTH) {
+            throw new ResourceConflictException(
+                    "A busca deve ter pelo menos " + MIN_SEARCH_QUERY_LENGTH + " caracteres");
+        }
+        if (size <= 0) {
+            throw new ResourceConflictException("O tamanho da página deve ser maior que zero");
+        }
+        if (size > MAX_SEARCH_PAGE_SIZE) {
+            throw new ResourceConflictException(
+                    "O tamanho da página deve ser no máximo " + MAX_SEARCH_PAGE_SIZE);
+        }
+
+        RankCursor after = RankCursor.decode(cursor);
+        // busca um item a mais para saber se existe próxima página
+        List<ChatMessageSearchHit> rows = chatMessageRepository.search(currentUserId, normalizedQuery,
+                after != null ? after.rank() : null, after != null ? after.id() : null, size + 1);
+
+        boolean hasMore = rows.size() > size;
+        List<ChatMessageSearchHit> page = hasMore ? rows.subList(0, size) : rows;
+        ChatMessageSearchHit last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return ChatMessageSearchResponseDTO.builder()
+                .hits(page.stream().map(this::toSearchHitDTO).toList())
+                .nextCursor(hasMore ? new RankCursor(last.getRank(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Transactional(readOnly = true)
     public List<ChatMessageResponseDTO> listMessagesAfter(Long chatId, Long lastMessageId) {
-        User currentUser = authService.getCurrentUser();
-        getMembershipOrThrow(chatId, currentUser.getId());
+        Long currentUserId = currentPrincipal.id();
+        ensureMembership(chatId, currentUserId);
 
         if (lastMessageId == null) {
             throw new ResourceConflictException("Informe o identificador da última mensagem conhecida");
         }
 
-        chatRepository.findById(chatId)
-                .orElseThrow(() -> new ResourceNotFoundException("Chat não encontrado com id: " + chatId));
-
         return chatMessageRepository.findByChatIdAndIdGreaterThanOrderBySentAtAsc(chatId, lastMessageId).stream()
                 .map(this::toChatMessageResponseDTO)
                 .toList();
     }
 
-    @Transactional
+    /**
+     * Mensagens posteriores a {@code lastMessageId}, no máximo {@code limit}.
+     * Usado na reconexão do stream, que não pode reenviar o histórico inteiro.
+     */
+    @Transactional(readOnly = true)
+    public List<ChatMessageResponseDTO> listMessagesAfter(Long chatId, Long lastMessageId, int limit) {
+        ensureMembership(chatId, currentPrincipal.id());
+
+        return chatMessageRepository
+                .findByChatIdAndIdGreaterThanOrderBySentAtAscIdAsc(chatId, lastMessageId, PageRequest.of(0, limit))
+                .stream()
+                .map(this::toChatMessageResponseDTO)
+                .toList();
+    }
+
+    /**
+     * Registra a leitura no buffer de confirmações e retorna imediatamente; a
+     * gravação em chat_user acontece em lote pelo {@link ChatReadReceiptBuffer}.
+     */
+    @Transactional(readOnly = true)
     public void updateLastReadMessage(Long chatId, Long messageId) {
-        User currentUser = authService.getCurrentUser();
-        ChatUser membership = getMembershipOrThrow(chatId, currentUser.getId());
+        Long currentUserId = currentPrincipal.id();
+        ensureMembership(chatId, currentUserId);
 
         if (messageId == null) {
             throw new ResourceConflictException("Informe a mensagem que foi lida");
@@ -191,39 +421,35 @@ public class ChatService {
             throw new ResourceConflictException("O identificador da mensagem deve ser positivo");
         }
 
-        ChatMessage message = chatMessageRepository.findById(messageId)
-                .orElseThrow(() -> new ResourceNotFoundException("Mensagem não encontrada: " + messageId));
-
-        if (!chatId.equals(message.getChat().getId())) {
-            throw new ResourceConflictException("A mensagem informada não pertence a este chat");
-        }
-
-        if (membership.getLastReadMessageId() != null && membership.getLastReadMessageId() >= messageId) {
-            return;
-        }
+        // leituras fora de ordem são descartadas pelo próprio UPDATE do buffer
+        readReceiptBuffer.record(chatId, currentUserId, messageId);
+    }
 
-        membership.setLastReadMessageId(messageId);
-        chatUserRepository.save(membership);
+    @Transactional(readOnly = true)
+    public void ensureCurrentUserIsMember(Long chatId) {
+        Long currentUserId = currentPrincipal.id();
+        ensureMembership(chatId, currentUserId);
     }
 
     @Transactional(readOnly = true)
     public ChatResponseDTO getChat(Long chatId) {
-        User currentUser = authService.getCurrentUser();
-        ChatUser membership = getMembershipOrThrow(chatId, currentUser.getId());
+        Long currentUserId = currentPrincipal.id();
+        ChatUser membership = getMembershipOrThrow(chatId, currentUserId);
 
         Chat chat = chatRepository.findById(chatId)
                 .orElseThrow(() -> new ResourceNotFoundException("Chat não encontrado com id: " + chatId));
 
-        return toChatResponseDTO(chat, currentUser, membership, false);
+        return toChatResponseDTO(chat, currentUserId, membership, false);
     }
 
     @Transactional
     public ChatMessageResponseDTO sendMessage(Long chatId, ChatMessageCreateRequestDTO request) {
+        ensureMembership(chatId, currentPrincipal.id());
+        // a entidade só é carregada depois da verificação de participação
         User sender = authService.getCurrentUser();
-        getMembershipOrThrow(chatId, sender.getId());
 
-        Chat chat = chatRepository.findById(chatId)
-                .orElseThrow(() -> new ResourceNotFoundException("Chat não encontrado com id: " + chatId));
+        // a participação garante que o chat existe; a referência evita o SELECT
+        Chat chat = chatRepository.getReferenceById(chatId);
 
         String messageBody = request.getMessage() != null ? request.getMessage().trim() : null;
         if (messageBody == null || messageBody.isEmpty()) {
@@ -242,21 +468,105 @@ public class ChatService {
                 .type(messageType.trim())
                 .build();
 
-        chat.addMessage(message);
         ChatMessage persisted = chatMessageRepository.save(message);
 
-        return toChatMessageResponseDTO(persisted);
+        chatSummaryRepository.recordMessages(chatId, persisted.getId(), ChatSummary.preview(messageBody),
+                persisted.getType(), sender.getId(), persisted.getSentAt(), 1);
+        chatUserRepository.incrementUnreadCount(chatId, sender.getId(), 1);
+
+        ChatMessageResponseDTO response = toChatMessageResponseDTO(persisted);
+        // entregue aos assinantes do stream somente após o commit
+        eventPublisher.publishEvent(new ChatMessageSentEvent(chatId, response));
+        return response;
+    }
+
+    /**
+     * Importa um lote de mensagens (ex.: históricos de conversas de cuidadores).
+     * A participação é validada uma única vez por chat e os INSERTs são
+     * enviados em batches JDBC, descarregando o contexto de persistência a cada
+     * bloco.
+     */
+    @Transactional
+    public ChatMessageBulkResponseDTO importMessages(Long chatId, ChatMessageBulkCreateRequestDTO request) {
+        Long currentUserId = currentPrincipal.id();
+        ensureMembership(chatId, currentUserId);
+
+        // só administradores importam mensagens em nome de outros participantes
+        boolean administrator = currentPrincipal.type() == UserType.ADMINISTRATOR;
+        Set<Long> memberIds = new HashSet<>(chatUserRepository.findUserIdsByChatId(chatId));
+        LocalDateTime now = LocalDateTime.now();
+        for (ChatMessageImportDTO item : request.getMessages()) {
+            if (!administrator && !Objects.equals(item.getSenderId(), currentUserId)) {
+                throw new AccessDeniedException("Só é possível importar mensagens enviadas por você");
+            }
+            if (!memberIds.contains(item.getSenderId())) {
+                throw new ResourceConflictException("O remetente não participa deste chat: " + item.getSenderId());
+            }
+            if (item.getMessage() == null || item.getMessage().isBlank()) {
+                throw new ResourceConflictException("A mensagem não pode ser vazia");
+            }
+            // uma data futura fixaria a mensagem como a última do chat no resumo
+            if (item.getSentAt() != null && item.getSentAt().isAfter(now)) {
+                throw new ResourceConflictException("A data da mensagem não pode estar no futuro");
+            }
+        }
+
+        Chat chat = chatRepository.getReferenceById(chatId);
+        Map<Long, User> senders = new HashMap<>();
+        Map<Long, Integer> messagesPerSender = new HashMap<>();
+        // só o necessário para o resumo e a resposta: as entidades são descartadas a cada bloco
+        int imported = 0;
+        Long firstMessageId = null;
+        Long lastMessageId = null;
+        ChatMessage latest = null;
+
+        for (ChatMessageImportDTO item : request.getMessages()) {
+            String messageType = item.getType() == null || item.getType().isBlank() ? "TEXT" : item.getType().trim();
+            ChatMessage message = ChatMessage.builder()
+                    .chat(chat)
+                    .sender(senders.computeIfAbsent(item.getSenderId(), userRepository::getReferenceById))
+                    .message(item.getMessage().trim())
+                    .type(messageType)
+                    .sentAt(item.getSentAt())
+                    .build();
+            entityManager.persist(message);
+            imported++;
+            if (firstMessageId == null) {
+                firstMessageId = message.getId();
+            }
+            lastMessageId = message.getId();
+            if (latest == null || IMPORT_ORDER.compare(message, latest) > 0) {
+                latest = message;
+            }
+            messagesPerSender.merge(item.getSenderId(), 1, Integer::sum);
+
+            if (imported % importFlushSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                chat = chatRepository.getReferenceById(chatId);
+                senders.clear();
+            }
+        }
+        entityManager.flush();
+
+        chatSummaryRepository.recordMessages(chatId, latest.getId(), ChatSummary.preview(latest.getMessage()),
+                latest.getType(), latest.getSender().getId(), latest.getSentAt(), imported);
+        messagesPerSender.forEach((senderId, count) -> chatUserRepository.incrementUnreadCount(chatId, senderId, count));
+
+        return ChatMessageBulkResponseDTO.builder()
+                .chatId(chatId)
+                .imported(imported)
+                .firstMessageId(firstMessageId)
+                .lastMessageId(lastMessageId)
+                .build();
     }
 
     @Transactional(readOnly = true)
     public List<ChatParticipantDTO> listParticipants(Long chatId) {
-        User currentUser = authService.getCurrentUser();
-        getMembershipOrThrow(chatId, currentUser.getId());
+        Long currentUserId = currentPrincipal.id();
+        ensureMembership(chatId, currentUserId);
 
-        Chat chat = chatRepository.findById(chatId)
-                .orElseThrow(() -> new ResourceNotFoundException("Chat não encontrado com id: " + chatId));
-
-        return chat.getParticipants().stream()
+        return chatUserRepository.findWithUserByChatIdIn(List.of(chatId)).stream()
                 .map(this::toParticipantDTO)
                 .toList();
     }
@@ -266,28 +576,135 @@ public class ChatService {
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário ativo não encontrado com id: " + userId));
     }
 
-    private ChatResponseDTO toChatResponseDTO(Chat chat, User viewer, ChatUser membership, boolean includeLastMessage) {
-        if (viewer != null && membership == null && chat.getId() != null) {
-            membership = chatUserRepository.findByChatIdAndUserId(chat.getId(), viewer.getId()).orElse(null);
+    private ChatResponseDTO toChatResponseDTO(Chat chat, Long viewerId, ChatUser membership, boolean includeLastMessage) {
+        if (viewerId != null && membership == null && chat.getId() != null) {
+            membership = chatUserRepository.findByChatIdAndUserId(chat.getId(), viewerId).orElse(null);
         }
 
-        ChatMessage lastMessage = chat.getId() != null
-                ? chatMessageRepository.findFirstByChatIdOrderBySentAtDescIdDesc(chat.getId()).orElse(null)
+        ChatSummary summary = chat.getId() != null
+                ? chatSummaryRepository.findById(chat.getId()).orElse(null)
                 : null;
 
+        List<ChatParticipantDTO> participants = chat.getParticipants().stream()
+                .map(this::toParticipantDTO)
+                .toList();
+
+        return buildChatResponse(chat, membership, summary, includeLastMessage, participants);
+    }
+
+    /**
+     * Monta a caixa de entrada com um número fixo de consultas: as participações
+     * (já com o chat e o contador de não lidas), os resumos de todos os chats e
+     * os participantes de todos os chats, em vez de consultas por chat.
+     */
+    private List<ChatResponseDTO> toInboxResponses(List<ChatUser> memberships) {
+        if (memberships.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> chatIds = memberships.stream()
+                .map(membership -> membership.getChat().getId())
+                .toList();
+
+        Map<Long, ChatSummary> summaries = chatSummaryRepository.findWithSenderByChatIdIn(chatIds).stream()
+                .collect(Collectors.toMap(ChatSummary::getChatId, Function.identity()));
+
+        Map<Long, List<ChatParticipantDTO>> participants = chatUserRepository.findWithUserByChatIdIn(chatIds).stream()
+                .collect(Collectors.groupingBy(chatUser -> chatUser.getChat().getId(), LinkedHashMap::new,
+                        Collectors.mapping(this::toParticipantDTO, Collectors.toList())));
+
+        return memberships.stream()
+                .map(membership -> {
+                    Long chatId = membership.getChat().getId();
+                    return buildChatResponse(membership.getChat(), membership, summaries.get(chatId), true,
+                            participants.getOrDefault(chatId, List.of()));
+                })
+                .toList();
+    }
+
+    private ChatResponseDTO buildChatResponse(Chat chat, ChatUser membership, ChatSummary summary,
+            boolean includeLastMessage, List<ChatParticipantDTO> participants) {
         Long lastRead = membership != null ? membership.getLastReadMessageId() : null;
-        boolean hasUnread = lastMessage != null && (lastRead == null || lastRead < lastMessage.getId());
+        int unreadCount = membership != null ? membership.getUnreadCount() : 0;
+        boolean hasLastMessage = summary != null && summary.getLastMessageId() != null;
 
         return ChatResponseDTO.builder()
                 .id(chat.getId())
                 .name(chat.getName())
                 .createdAt(chat.getCreatedAt())
-                .lastMessage(includeLastMessage && lastMessage != null ? toChatMessageResponseDTO(lastMessage) : null)
+                .lastMessage(includeLastMessage && hasLastMessage ? toLastMessageDTO(summary) : null)
                 .lastReadMessageId(lastRead)
-                .hasUnreadMessages(hasUnread)
-                .participants(chat.getParticipants().stream()
-                        .map(this::toParticipantDTO)
-                        .toList())
+                .hasUnreadMessages(unreadCount > 0)
+                .unreadCount(unreadCount)
+                .participants(participants)
+                .build();
+    }
+
+    private ChatMessageResponseDTO toLastMessageDTO(ChatSummary summary) {
+        return ChatMessageResponseDTO.builder()
+                .id(summary.getLastMessageId())
+                .message(summary.getLastMessagePreview())
+                .type(summary.getLastMessageType())
+                .sentAt(summary.getLastSentAt())
+                .sender(summary.getLastSender() != null ? toParticipantDTO(summary.getLastSender()) : null)
+                .build();
+    }
+
+    private ChatMessageSliceResponseDTO toMessageSlice(List<ChatMessageResponseDTO> messages, boolean hasMoreBefore,
+            boolean hasMoreAfter) {
+        ChatMessageResponseDTO oldest = messages.isEmpty() ? null : messages.get(0);
+        ChatMessageResponseDTO newest = messages.isEmpty() ? null : messages.get(messages.size() - 1);
+
+        return ChatMessageSliceResponseDTO.builder()
+                .messages(messages)
+                .beforeCursor(oldest != null ? new KeysetCursor(oldest.getSentAt(), oldest.getId()).encode() : null)
+                .afterCursor(newest != null ? new KeysetCursor(newest.getSentAt(), newest.getId()).encode() : null)
+                .hasMoreBefore(hasMoreBefore)
+                .hasMoreAfter(hasMoreAfter)
+                .build();
+    }
+
+    private List<ChatMessageResponseDTO> mergeHistory(List<ChatMessageResponseDTO> hot,
+            List<ArchivedChatMessage> archived, Comparator<ChatMessageResponseDTO> order) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<ChatMessageResponseDTO> merged = new ArrayList<>(hot);
+        merged.addAll(toArchivedResponseDTOs(archived));
+        merged.sort(order);
+        return merged;
+    }
+
+    private List<ChatMessageResponseDTO> toChatMessageResponseDTOs(List<ChatMessage> messages) {
+        return messages.stream().map(this::toChatMessageResponseDTO).toList();
+    }
+
+    private List<ChatMessageResponseDTO> toArchivedResponseDTOs(List<ArchivedChatMessage> archived) {
+        Set<Long> senderIds = archived.stream().map(ArchivedChatMessage::senderId).collect(Collectors.toSet());
+        Map<Long, ChatParticipantDTO> senders = userRepository.findAllById(senderIds).stream()
+                .collect(Collectors.toMap(User::getId, this::toParticipantDTO));
+
+        return archived.stream()
+                .map(message -> ChatMessageResponseDTO.builder()
+                        .id(message.id())
+                        .message(message.message())
+                        .type(message.type())
+                        .sentAt(message.sentAt())
+                        .sender(senders.get(message.senderId()))
+                        .build())
+                .toList();
+    }
+
+    private ChatMessageSearchHitDTO toSearchHitDTO(ChatMessageSearchHit hit) {
+        return ChatMessageSearchHitDTO.builder()
+                .messageId(hit.getId())
+                .chatId(hit.getChatId())
+                .chatName(hit.getChatName())
+                .senderId(hit.getSenderId())
+                .senderName(hit.getSenderName())
+                .sentAt(hit.getSentAt())
+                .rank(hit.getRank())
+                .headline(hit.getHeadline())
                 .build();
     }
 
@@ -321,7 +738,19 @@ public class ChatService {
     }
 
     private ChatUser getMembershipOrThrow(Long chatId, Long userId) {
-        return chatUserRepository.findByChatIdAndUserId(chatId, userId)
+        ChatUser membership = chatUserRepository.findByChatIdAndUserId(chatId, userId)
                 .orElseThrow(() -> new AccessDeniedException("Usuário não participa deste chat"));
+        membershipCache.putMember(chatId, userId);
+        return membership;
+    }
+
+    private void ensureMembership(Long chatId, Long userId) {
+        if (membershipCache.isMember(chatId, userId)) {
+            return;
+        }
+        if (!chatUserRepository.existsByChatIdAndUserId(chatId, userId)) {
+            throw new AccessDeniedException("Usuário não participa deste chat");
+        }
+        membershipCache.putMember(chatId, userId);
     }
 }
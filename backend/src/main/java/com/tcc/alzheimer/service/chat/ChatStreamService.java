@@ -0,0 +1,79 @@
+package com.tcc.alzheimer.service.chat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.tcc.alzheimer.dto.chat.ChatMessageResponseDTO;
+import com.tcc.alzheimer.util.SseEmitterRegistry;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Entrega de mensagens em tempo real (Server-Sent Events), substituindo o
+ * polling de {@code /chats/{chatId}/messages/new}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatStreamService {
+
+    private static final String MESSAGE_EVENT = "message";
+    private static final String RESYNC_EVENT = "resync";
+    private static final int MAX_STREAM_REPLAY = 100;
+
+    private final ChatService chatService;
+    private final SseEmitterRegistry<Long> subscribers = new SseEmitterRegistry<>();
+
+    @Value("${chat.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    public SseEmitter subscribe(Long chatId, Long lastMessageId) {
+        chatService.ensureCurrentUserIsMember(chatId);
+
+        // registra antes de buscar as mensagens perdidas para não haver lacuna;
+        // mensagens repetidas são descartadas pelo cliente através do id
+        SseEmitter emitter = subscribers.register(chatId, new SseEmitter(timeoutMs));
+
+        if (lastMessageId != null) {
+            List<ChatMessageResponseDTO> missed = chatService.listMessagesAfter(chatId, lastMessageId,
+                    MAX_STREAM_REPLAY + 1);
+            missed.stream()
+                    .limit(MAX_STREAM_REPLAY)
+                    .forEach(message -> subscribers.send(chatId, emitter, toEvent(message)));
+
+            // lacuna maior que o limite: o cliente completa pelo histórico paginado
+            if (missed.size() > MAX_STREAM_REPLAY) {
+                Long lastReplayedId = missed.get(MAX_STREAM_REPLAY - 1).getId();
+                subscribers.send(chatId, emitter, SseEmitter.event()
+                        .name(RESYNC_EVENT)
+                        .data(Map.of("lastMessageId", lastReplayedId), MediaType.APPLICATION_JSON));
+            }
+        }
+
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessageSent(ChatMessageSentEvent event) {
+        subscribers.send(event.chatId(), () -> toEvent(event.message()));
+    }
+
+    @Scheduled(fixedDelayString = "${chat.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.heartbeat();
+    }
+
+    private SseEmitter.SseEventBuilder toEvent(ChatMessageResponseDTO message) {
+        return SseEmitter.event()
+                .id(String.valueOf(message.getId()))
+                .name(MESSAGE_EVENT)
+                .data(message, MediaType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,32 @@
+package com.tcc.alzheimer.service.notifications;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tcc.alzheimer.repository.notifications.NotificationCounterRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Corrige divergências de notification_counter (ex.: linhas removidas sem
+ * passar pelo NotificationService). Também preenche os contadores na primeira
+ * execução após a inicialização.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationCounterReconciler {
+
+    private final NotificationCounterRepository counterRepository;
+
+    @Scheduled(fixedDelayString = "${notifications.unread-counter.reconcile-interval-ms:3600000}")
+    @Transactional
+    public void reconcile() {
+        int corrected = counterRepository.reconcileUnread() + counterRepository.resetStaleUnread();
+        if (corrected > 0) {
+            log.info("Contadores de notificações não lidas reconciliados: {} usuários corrigidos", corrected);
+        }
+    }
+}
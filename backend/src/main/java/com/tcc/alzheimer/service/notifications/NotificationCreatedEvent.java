@@ -0,0 +1,13 @@
+package com.tcc.alzheimer.service.notifications;
+
+import java.util.List;
+
+import com.tcc.alzheimer.dto.notifications.NotificationRecipientResponse;
+
+/**
+ * Publicado por {@link NotificationService#createAndSend}. {@code notification}
+ * é comum a todos os destinatários ({@code recipientId} nulo); o stream
+ * completa o destinatário no momento do envio.
+ */
+public record NotificationCreatedEvent(NotificationRecipientResponse notification, List<Long> recipientIds) {
+}
@@ -0,0 +1,100 @@
+package com.tcc.alzheimer.service.notifications;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.tcc.alzheimer.dto.notifications.NotificationCreateRequest;
+
+/**
+ * Agrupa notificações do mesmo tipo e remetente enviadas em sequência. Cada
+ * destinatário recebe uma única notificação com o resumo do que recebeu;
+ * destinatários que receberam exatamente o mesmo conjunto compartilham a mesma
+ * notificação.
+ */
+@Component
+public class NotificationDigester {
+
+    private static final int TITLE_LENGTH = 120;
+    private static final int MESSAGE_LENGTH = 1000;
+
+    /**
+     * @param requests notificações de um mesmo {@code NotificationType}, em ordem de criação
+     */
+    public List<NotificationCreateRequest> coalesce(List<NotificationCreateRequest> requests) {
+        // só são resumidas notificações do mesmo remetente, que o resumo mantém;
+        // cada associação tem o próprio id, então o resumo só o mantém se for único
+        Map<Long, List<NotificationCreateRequest>> bySource = new LinkedHashMap<>();
+        requests.forEach(request -> bySource
+                .computeIfAbsent(request.senderId(), ignored -> new ArrayList<>())
+                .add(request));
+
+        List<NotificationCreateRequest> result = new ArrayList<>();
+        bySource.values().forEach(group -> result.addAll(coalesceSameSource(group)));
+        return result;
+    }
+
+    private List<NotificationCreateRequest> coalesceSameSource(List<NotificationCreateRequest> requests) {
+        // destinatário -> índices das notificações que ele receberia
+        Map<Long, List<Integer>> byRecipient = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            NotificationCreateRequest request = requests.get(i);
+            for (Long recipientId : new LinkedHashSet<>(request.recipientIds())) {
+                if (recipientId != null && !recipientId.equals(request.senderId())) {
+                    byRecipient.computeIfAbsent(recipientId, ignored -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+
+        Map<List<Integer>, List<Long>> groups = new LinkedHashMap<>();
+        byRecipient.forEach((recipientId, indexes) -> groups
+                .computeIfAbsent(indexes, ignored -> new ArrayList<>())
+                .add(recipientId));
+
+        List<NotificationCreateRequest> result = new ArrayList<>();
+        groups.forEach((indexes, recipientIds) -> {
+            List<NotificationCreateRequest> received = indexes.stream().map(requests::get).toList();
+            result.add(received.size() == 1
+                    ? withRecipients(received.get(0), recipientIds)
+                    : aggregate(received, recipientIds));
+        });
+        return result;
+    }
+
+    private NotificationCreateRequest aggregate(List<NotificationCreateRequest> received, List<Long> recipientIds) {
+        String message = received.stream()
+                .map(request -> "- " + request.message())
+                .collect(Collectors.joining("\n"));
+
+        NotificationCreateRequest last = received.get(received.size() - 1);
+        Long associationId = received.stream().map(NotificationCreateRequest::associationId)
+                .distinct().count() == 1 ? last.associationId() : null;
+
+        return new NotificationCreateRequest(
+                last.senderId(),
+                last.type(),
+                truncate("%d novas notificações".formatted(received.size()), TITLE_LENGTH),
+                truncate(message, MESSAGE_LENGTH),
+                recipientIds,
+                associationId);
+    }
+
+    private static NotificationCreateRequest withRecipients(NotificationCreateRequest request, List<Long> recipientIds) {
+        return new NotificationCreateRequest(
+                request.senderId(),
+                request.type(),
+                request.title(),
+                request.message(),
+                recipientIds,
+                request.associationId());
+    }
+
+    private static String truncate(String value, int length) {
+        return value.length() <= length ? value : value.substring(0, length - 3) + "...";
+    }
+}
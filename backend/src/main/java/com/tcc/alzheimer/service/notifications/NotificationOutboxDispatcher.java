@@ -0,0 +1,282 @@
+package com.tcc.alzheimer.service.notifications;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.tcc.alzheimer.dto.notifications.NotificationCreateRequest;
+import com.tcc.alzheimer.exception.BadRequestException;
+import com.tcc.alzheimer.exception.ResourceNotFoundException;
+import com.tcc.alzheimer.model.enums.NotificationType;
+import com.tcc.alzheimer.model.enums.OutboxStatus;
+import com.tcc.alzheimer.model.notifications.NotificationOutbox;
+import com.tcc.alzheimer.repository.notifications.NotificationOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consome o outbox de notificações: reivindica lotes de entradas pendentes e
+ * as materializa em um pool de threads limitado, com novas tentativas
+ * (backoff exponencial) e estado DEAD para as que não puderem ser entregues.
+ * Entradas do mesmo tipo reivindicadas juntas passam pelo
+ * {@link NotificationDigester}.
+ */
+@Slf4j
+@Component
+public class NotificationOutboxDispatcher {
+
+    private static final List<OutboxStatus> BACKLOG_STATUSES = List.of(OutboxStatus.PENDING, OutboxStatus.PROCESSING);
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationOutboxService outboxService;
+    private final NotificationService notificationService;
+    private final NotificationDigester digester;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final Duration processingTimeout;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong deadLetters = new AtomicLong();
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter dead;
+    private final Counter coalesced;
+
+    public NotificationOutboxDispatcher(NotificationOutboxRepository outboxRepository,
+            NotificationOutboxService outboxService,
+            NotificationService notificationService,
+            NotificationDigester digester,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.outbox.workers:4}") int workers,
+            @Value("${notifications.outbox.queue-capacity:200}") int queueCapacity,
+            @Value("${notifications.outbox.batch-size:50}") int batchSize,
+            @Value("${notifications.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${notifications.outbox.backoff-base-ms:2000}") long backoffBaseMs,
+            @Value("${notifications.outbox.backoff-max-ms:600000}") long backoffMaxMs,
+            @Value("${notifications.outbox.processing-timeout-ms:300000}") long processingTimeoutMs) {
+        this.outboxRepository = outboxRepository;
+        this.outboxService = outboxService;
+        this.notificationService = notificationService;
+        this.digester = digester;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.processingTimeout = Duration.ofMillis(processingTimeoutMs);
+
+        // pool próprio (e não um bean Executor) para não desativar o executor
+        // padrão que o Spring Boot registra para a aplicação
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notification-dispatch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        Gauge.builder("notifications.outbox.depth", depth, AtomicLong::get)
+                .description("Entradas do outbox aguardando ou em processamento")
+                .register(meterRegistry);
+        Gauge.builder("notifications.outbox.lag", lagSeconds, AtomicLong::get)
+                .baseUnit("seconds")
+                .description("Idade da entrada pendente mais antiga do outbox")
+                .register(meterRegistry);
+        Gauge.builder("notifications.outbox.dead", deadLetters, AtomicLong::get)
+                .description("Entradas do outbox descartadas após esgotar as tentativas")
+                .register(meterRegistry);
+        this.delivered = Counter.builder("notifications.outbox.dispatch").tag("result", "delivered")
+                .register(meterRegistry);
+        this.retried = Counter.builder("notifications.outbox.dispatch").tag("result", "retry")
+                .register(meterRegistry);
+        this.dead = Counter.builder("notifications.outbox.dispatch").tag("result", "dead")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("notifications.outbox.coalesced")
+                .description("Notificações que deixaram de ser criadas por terem sido resumidas")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        refreshMetrics();
+
+        int capacity = freeCapacity();
+        if (capacity <= 0) {
+            return;
+        }
+
+        List<NotificationOutbox> claimed = transactionTemplate.execute(status -> claim(Math.min(batchSize, capacity)));
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+
+        // entradas do mesmo tipo reivindicadas juntas são resumidas em uma só notificação
+        Map<NotificationType, List<PendingEntry>> byType = new LinkedHashMap<>();
+        for (NotificationOutbox entry : claimed) {
+            try {
+                NotificationCreateRequest request = readPayload(entry);
+                byType.computeIfAbsent(request.type(), ignored -> new ArrayList<>()).add(new PendingEntry(entry, request));
+            } catch (IllegalArgumentException e) {
+                executor.execute(() -> dispatch(entry));
+            }
+        }
+        byType.values().forEach(group -> executor.execute(group.size() == 1
+                ? () -> dispatch(group.get(0).entry())
+                : () -> dispatchDigest(group)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private List<NotificationOutbox> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.releaseStale(now.minus(processingTimeout), OutboxStatus.PENDING, OutboxStatus.PROCESSING);
+
+        List<NotificationOutbox> entries = outboxRepository.findDispatchable(now, limit);
+        entries.forEach(entry -> {
+            entry.setStatus(OutboxStatus.PROCESSING);
+            entry.setLockedAt(now);
+        });
+        return entries;
+    }
+
+    /**
+     * A notificação e a baixa no outbox são gravadas na mesma transação: ou as
+     * duas acontecem, ou a entrada volta a ser tentada.
+     */
+    private void dispatch(NotificationOutbox entry) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                var response = notificationService.createAndSend(readPayload(entry), true);
+                markDone(List.of(entry.getId()), response.id());
+            });
+            delivered.increment();
+        } catch (RuntimeException e) {
+            handleFailure(entry, e);
+        }
+    }
+
+    /**
+     * Envia o resumo de um grupo em uma única transação. Se falhar, cada entrada
+     * é enviada individualmente, com suas próprias novas tentativas.
+     */
+    private void dispatchDigest(List<PendingEntry> group) {
+        try {
+            Integer created = transactionTemplate.execute(status -> {
+                List<NotificationCreateRequest> digests = digester
+                        .coalesce(group.stream().map(PendingEntry::request).toList());
+                digests.forEach(digest -> notificationService.createAndSend(digest, true));
+                markDone(group.stream().map(pending -> pending.entry().getId()).toList(), null);
+                return digests.size();
+            });
+            delivered.increment(group.size());
+            coalesced.increment(Math.max(0, group.size() - (created != null ? created : 0)));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao enviar o resumo de {} notificações do outbox; enviando individualmente",
+                    group.size(), e);
+            group.forEach(pending -> dispatch(pending.entry()));
+        }
+    }
+
+    private void markDone(List<Long> ids, Long notificationId) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.findAllById(ids).forEach(current -> {
+            current.setStatus(OutboxStatus.DONE);
+            current.setProcessedAt(now);
+            current.setNotificationId(notificationId);
+            current.setLockedAt(null);
+            current.setLastError(null);
+        });
+    }
+
+    private void handleFailure(NotificationOutbox entry, RuntimeException error) {
+        // erros de validação não mudam com novas tentativas
+        boolean permanent = error instanceof ResourceNotFoundException
+                || error instanceof BadRequestException
+                || error instanceof IllegalArgumentException;
+
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.findById(entry.getId())
+                .ifPresent(current -> {
+                    int attempts = current.getAttempts() + 1;
+                    current.setAttempts(attempts);
+                    current.setLockedAt(null);
+                    current.setLastError(truncate(String.valueOf(error.getMessage())));
+
+                    if (permanent || attempts >= maxAttempts) {
+                        current.setStatus(OutboxStatus.DEAD);
+                        current.setProcessedAt(LocalDateTime.now());
+                        dead.increment();
+                        log.error("Notificação do outbox {} descartada após {} tentativas", current.getId(),
+                                attempts, error);
+                    } else {
+                        current.setStatus(OutboxStatus.PENDING);
+                        current.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+                        retried.increment();
+                        log.warn("Falha ao enviar notificação do outbox {} (tentativa {}): {}", current.getId(),
+                                attempts, error.getMessage());
+                    }
+                }));
+    }
+
+    private NotificationCreateRequest readPayload(NotificationOutbox entry) {
+        try {
+            return outboxService.read(entry);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Payload invalido no outbox " + entry.getId(), e);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long delay = backoffBaseMs << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delay, backoffMaxMs));
+    }
+
+    private int freeCapacity() {
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        return pool.getQueue().remainingCapacity() + (pool.getMaximumPoolSize() - pool.getActiveCount());
+    }
+
+    private void refreshMetrics() {
+        var backlog = outboxRepository.findBacklog(BACKLOG_STATUSES);
+        depth.set(backlog.getPending());
+        lagSeconds.set(backlog.getOldest() != null
+                ? Math.max(0, Duration.between(backlog.getOldest(), LocalDateTime.now()).toSeconds())
+                : 0);
+        deadLetters.set(outboxRepository.countByStatus(OutboxStatus.DEAD));
+    }
+
+    private record PendingEntry(NotificationOutbox entry, NotificationCreateRequest request) {
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= NotificationOutbox.LAST_ERROR_LENGTH
+                ? value
+                : value.substring(0, NotificationOutbox.LAST_ERROR_LENGTH);
+    }
+}
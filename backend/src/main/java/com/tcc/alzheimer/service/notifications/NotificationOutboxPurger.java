@@ -0,0 +1,80 @@
+package com.tcc.alzheimer.service.notifications;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tcc.alzheimer.model.enums.OutboxStatus;
+import com.tcc.alzheimer.repository.notifications.NotificationOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remove do outbox as entradas já entregues (DONE) e as descartadas (DEAD)
+ * depois dos respectivos prazos de retenção, em lotes com transações curtas.
+ * Sem isso a tabela cresce indefinidamente e as métricas do dispatcher, lidas
+ * a cada ciclo, ficam mais caras.
+ */
+@Slf4j
+@Service
+public class NotificationOutboxPurger {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter purged;
+
+    @Value("${notifications.outbox.purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notifications.outbox.purge.done-retention-hours:24}")
+    private long doneRetentionHours;
+
+    // mantidas por mais tempo para investigação
+    @Value("${notifications.outbox.purge.dead-retention-days:30}")
+    private long deadRetentionDays;
+
+    @Value("${notifications.outbox.purge.batch-size:1000}")
+    private int batchSize;
+
+    public NotificationOutboxPurger(NotificationOutboxRepository outboxRepository,
+            TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.purged = Counter.builder("notifications.outbox.purged")
+                .description("Entradas DONE/DEAD removidas do outbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${notifications.outbox.purge.cron:0 15 * * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int done = purge(OutboxStatus.DONE, now.minusHours(doneRetentionHours));
+        int dead = purge(OutboxStatus.DEAD, now.minusDays(deadRetentionDays));
+        if (done + dead > 0) {
+            log.info("Limpeza do outbox de notificações: {} entregues e {} descartadas removidas", done, dead);
+        }
+    }
+
+    private int purge(OutboxStatus status, LocalDateTime before) {
+        int total = 0;
+        int batch;
+        do {
+            Integer count = transactionTemplate.execute(
+                    tx -> outboxRepository.deleteProcessedBefore(status.name(), before, batchSize));
+            batch = count != null ? count : 0;
+            total += batch;
+        } while (batch == batchSize);
+
+        purged.increment(total);
+        return total;
+    }
+}
@@ -0,0 +1,71 @@
+package com.tcc.alzheimer.service.notifications;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tcc.alzheimer.dto.notifications.NotificationCreateRequest;
+import com.tcc.alzheimer.model.notifications.NotificationOutbox;
+import com.tcc.alzheimer.repository.notifications.NotificationOutboxRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Enfileira notificações no outbox. Deve ser chamado dentro da transação da
+ * operação de negócio: a notificação só existe se a operação for confirmada,
+ * e uma falha ao criá-la não desfaz a operação.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationOutboxService {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    // janela de agrupamento: entradas criadas na mesma janela ficam disponíveis
+    // ao dispatcher juntas, no fim dela, e são enviadas como um resumo
+    @Value("${notifications.digest.window-ms:10000}")
+    private long digestWindowMs;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(NotificationCreateRequest request) {
+        var entry = new NotificationOutbox();
+        entry.setPayload(write(request));
+        entry.setNextAttemptAt(windowEnd(LocalDateTime.now()));
+        outboxRepository.save(entry);
+    }
+
+    /**
+     * Fim da janela que contém o instante informado. As janelas são alinhadas
+     * ao epoch, então o limite é o mesmo em todas as instâncias e não depende
+     * de quando a primeira entrada da janela foi criada.
+     */
+    private LocalDateTime windowEnd(LocalDateTime now) {
+        if (digestWindowMs <= 0) {
+            return now;
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        long millis = now.atZone(zone).toInstant().toEpochMilli();
+        long end = Math.floorDiv(millis, digestWindowMs) * digestWindowMs + digestWindowMs;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(end), zone);
+    }
+
+    NotificationCreateRequest read(NotificationOutbox entry) throws JsonProcessingException {
+        return objectMapper.readValue(entry.getPayload(), NotificationCreateRequest.class);
+    }
+
+    private String write(NotificationCreateRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Nao foi possivel serializar a notificacao", e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.tcc.alzheimer.service.notifications;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tcc.alzheimer.repository.notifications.NotificationArchiveRepository;
+import com.tcc.alzheimer.repository.notifications.NotificationArchiveRepository.BatchResult;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Retenção de notificações: move as lidas por todos os destinatários e mais
+ * antigas que {@code notifications.retention.read-after-days} para
+ * notification_archive, em lotes com transações curtas. Os destinatários são
+ * removidos em lotes próprios, limitados por número de linhas.
+ */
+@Slf4j
+@Service
+public class NotificationRetentionService {
+
+    private final NotificationArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archivedNotifications;
+    private final Counter purgedRecipients;
+
+    @Value("${notifications.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notifications.retention.read-after-days:180}")
+    private int readAfterDays;
+
+    @Value("${notifications.retention.batch-size:500}")
+    private int batchSize;
+
+    @Value("${notifications.retention.recipient-batch-size:5000}")
+    private int recipientBatchSize;
+
+    public NotificationRetentionService(NotificationArchiveRepository archiveRepository,
+            TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.archivedNotifications = Counter.builder("notifications.retention.archived")
+                .description("Notificações movidas para notification_archive")
+                .register(meterRegistry);
+        this.purgedRecipients = Counter.builder("notifications.retention.recipients.purged")
+                .description("Linhas de notification_recipient removidas pelo arquivamento")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 0 4 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    /**
+     * Executa uma rodada completa e retorna o total movido.
+     */
+    public BatchResult run() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(readAfterDays).atStartOfDay();
+
+        int notifications = 0;
+        int recipients = 0;
+        List<Long> batch;
+        do {
+            batch = transactionTemplate.execute(status -> archiveRepository.archiveReadBefore(cutoff, batchSize));
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            recipients += deleteRecipients(batch);
+            List<Long> ids = batch;
+            Integer deleted = transactionTemplate.execute(
+                    status -> archiveRepository.deleteArchivedNotifications(ids));
+            notifications += deleted != null ? deleted : 0;
+        } while (batch.size() == batchSize);
+
+        archivedNotifications.increment(notifications);
+        purgedRecipients.increment(recipients);
+        log.info("Retenção de notificações: {} notificações arquivadas e {} destinatários removidos (anteriores a {})",
+                notifications, recipients, cutoff);
+        return new BatchResult(notifications, recipients);
+    }
+
+    // cada bloco em uma transação curta: uma notificação enviada a muitos
+    // usuários não vira um único DELETE de milhões de linhas
+    private int deleteRecipients(List<Long> notificationIds) {
+        int total = 0;
+        int deleted;
+        do {
+            Integer count = transactionTemplate.execute(
+                    status -> archiveRepository.deleteRecipients(notificationIds, recipientBatchSize));
+            deleted = count != null ? count : 0;
+            total += deleted;
+        } while (deleted == recipientBatchSize);
+        return total;
+    }
+}
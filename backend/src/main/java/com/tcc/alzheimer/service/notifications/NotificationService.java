@@ -1,25 +1,41 @@
 package com.tcc.alzheimer.service.notifications;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.tcc.alzheimer.dto.notifications.NotificationBulkReadRequest;
 import com.tcc.alzheimer.dto.notifications.NotificationCreateRequest;
+import com.tcc.alzheimer.dto.notifications.NotificationFeedResponse;
+import com.tcc.alzheimer.dto.notifications.NotificationPageResponse;
 import com.tcc.alzheimer.dto.notifications.NotificationRecipientResponse;
 import com.tcc.alzheimer.dto.notifications.NotificationResponse;
+import com.tcc.alzheimer.dto.notifications.NotificationSummaryResponse;
+import com.tcc.alzheimer.exception.BadRequestException;
 import com.tcc.alzheimer.exception.ResourceNotFoundException;
 import com.tcc.alzheimer.model.notifications.Notification;
+import com.tcc.alzheimer.model.notifications.NotificationCounter;
 import com.tcc.alzheimer.model.notifications.NotificationRecipient;
-import com.tcc.alzheimer.model.roles.User;
+import com.tcc.alzheimer.model.notifications.NotificationRecipientId;
+import com.tcc.alzheimer.repository.Association.AssociationRequestRepository;
+import com.tcc.alzheimer.repository.notifications.NotificationCounterRepository;
 import com.tcc.alzheimer.repository.notifications.NotificationRecipientRepository;
 import com.tcc.alzheimer.repository.notifications.NotificationRepository;
 import com.tcc.alzheimer.repository.roles.UserRepository;
+import com.tcc.alzheimer.repository.roles.UserSummaryView;
+import com.tcc.alzheimer.util.KeysetCursor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -27,13 +43,31 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class NotificationService {
 
+        private static final int MAX_FEED_PAGE_SIZE = 100;
+        private static final int MAX_BULK_READ_IDS = 1000;
+        private static final int FAN_OUT_CHUNK_SIZE = 1000;
+        private static final int MAX_STREAM_REPLAY = 100;
+
         private final NotificationRepository notificationRepository;
         private final NotificationRecipientRepository notificationRecipientRepository;
         private final UserRepository userRepository;
+        private final NotificationCounterRepository notificationCounterRepository;
+        private final AssociationRequestRepository associationRequestRepository;
+        private final ApplicationEventPublisher eventPublisher;
 
         @Transactional
         public NotificationResponse createAndSend(NotificationCreateRequest request) {
-                var sender = userRepository.findByIdAndActiveTrue(request.senderId())
+                return createAndSend(request, false);
+        }
+
+        /**
+         * @param recipientCountOnly quando verdadeiro, a resposta traz apenas a
+         *                           quantidade de destinatários, sem carregar nome e
+         *                           e-mail de cada um (envios em massa)
+         */
+        @Transactional
+        public NotificationResponse createAndSend(NotificationCreateRequest request, boolean recipientCountOnly) {
+                var sender = userRepository.findActiveSummaryById(request.senderId())
                                 .orElseThrow(() -> new ResourceNotFoundException(
                                                 "Remetente com id %d nao encontrado.".formatted(request.senderId())));
 
@@ -46,9 +80,21 @@ public class NotificationService {
                         throw new IllegalArgumentException("Informe ao menos um destinatario valido.");
                 }
 
-                List<User> recipients = userRepository.findByIdInAndActiveTrue(new ArrayList<>(recipientIds));
-                if (recipients.size() != recipientIds.size()) {
-                        var foundIds = recipients.stream().map(User::getId).collect(Collectors.toSet());
+                // ids ordenados e divididos em blocos: limita o tamanho de cada IN (...)
+                List<List<Long>> chunks = chunk(recipientIds.stream().sorted().toList(), FAN_OUT_CHUNK_SIZE);
+
+                List<UserSummaryView> recipients = recipientCountOnly ? null : new ArrayList<>(recipientIds.size());
+                Set<Long> foundIds = new HashSet<>(recipientIds.size());
+                for (List<Long> ids : chunks) {
+                        if (recipientCountOnly) {
+                                foundIds.addAll(userRepository.findActiveIdsByIdIn(ids));
+                        } else {
+                                var found = userRepository.findActiveSummariesByIdIn(ids);
+                                found.forEach(recipient -> foundIds.add(recipient.getId()));
+                                recipients.addAll(found);
+                        }
+                }
+                if (foundIds.size() != recipientIds.size()) {
                         var missing = recipientIds.stream()
                                         .filter(id -> !foundIds.contains(id))
                                         .sorted()
@@ -57,7 +103,8 @@ public class NotificationService {
                 }
 
                 var notification = new Notification();
-                notification.setSender(sender);
+                // apenas a referência: nome e e-mail já vieram da projeção
+                notification.setSender(userRepository.getReferenceById(sender.getId()));
                 notification.setTitle(request.title());
                 notification.setMessage(request.message());
                 notification.setType(request.type());
@@ -66,19 +113,31 @@ public class NotificationService {
                         var association = new com.tcc.alzheimer.model.Association.AssociationRequest();
                         association.setId(request.associationId());
                         notification.setAssociation(association);
+                        notification.setPatientId(associationRequestRepository.findPatientIdById(request.associationId())
+                                        .orElse(null));
                 }
 
                 notification = notificationRepository.save(notification);
 
-                for (User recipient : recipients) {
-                        var link = new NotificationRecipient(notification, recipient);
-                        notification.addRecipient(link);
-                        recipient.getReceived().add(link);
+                for (List<Long> ids : chunks) {
+                        notificationRecipientRepository.insertRecipients(notification.getId(), notification.getCreatedAt(), ids);
+                        notificationCounterRepository.incrementUnread(ids, 1);
                 }
 
-                notification = notificationRepository.save(notification);
+                var senderSummary = new NotificationResponse.UserSummary(
+                                sender.getId(),
+                                sender.getName(),
+                                sender.getEmail());
+
+                eventPublisher.publishEvent(new NotificationCreatedEvent(
+                                toRecipientResponse(notification, null, false, null,
+                                                new NotificationRecipientResponse.UserSummary(
+                                                                sender.getId(),
+                                                                sender.getName(),
+                                                                sender.getEmail())),
+                                recipientIds.stream().sorted().toList()));
 
-                return toNotificationResponse(notification);
+                return toNotificationResponse(notification, senderSummary, recipientIds.size(), recipients);
         }
 
         @Transactional(readOnly = true)
@@ -92,29 +151,136 @@ public class NotificationService {
                                 .toList();
         }
 
+        /**
+         * Feed de notificações do usuário, do mais recente para o mais antigo,
+         * paginado pelo cursor (created_at, notification_id) devolvido na página anterior.
+         */
+        @Transactional(readOnly = true)
+        public NotificationFeedResponse findFeed(Long userId, String cursor, int size, boolean unreadOnly) {
+                if (size <= 0 || size > MAX_FEED_PAGE_SIZE) {
+                        throw new BadRequestException(
+                                        "O tamanho da pagina deve estar entre 1 e " + MAX_FEED_PAGE_SIZE + ".");
+                }
+
+                KeysetCursor before = KeysetCursor.decode(cursor);
+                Pageable limit = PageRequest.of(0, size);
+
+                Slice<NotificationRecipient> slice;
+                if (unreadOnly) {
+                        slice = before == null
+                                        ? notificationRecipientRepository.findUnreadFeed(userId, limit)
+                                        : notificationRecipientRepository.findUnreadFeedBefore(
+                                                        userId, before.timestamp(), before.id(), limit);
+                } else {
+                        slice = before == null
+                                        ? notificationRecipientRepository.findFeed(userId, limit)
+                                        : notificationRecipientRepository.findFeedBefore(
+                                                        userId, before.timestamp(), before.id(), limit);
+                }
+
+                var items = slice.getContent();
+                var last = items.isEmpty() ? null : items.get(items.size() - 1);
+                String nextCursor = slice.hasNext()
+                                ? new KeysetCursor(last.getCreatedAt(), last.getId().getNotificationId()).encode()
+                                : null;
+
+                return new NotificationFeedResponse(
+                                items.stream().map(this::toRecipientResponse).toList(),
+                                nextCursor,
+                                slice.hasNext());
+        }
+
+        /**
+         * Notificações recebidas depois de {@code lastNotificationId}, em ordem de
+         * envio; usada para repor o que foi perdido ao reconectar o stream.
+         */
+        @Transactional(readOnly = true)
+        public List<NotificationRecipientResponse> findAfter(Long userId, Long lastNotificationId) {
+                return notificationRecipientRepository
+                                .findByRecipientAfter(userId, lastNotificationId, PageRequest.of(0, MAX_STREAM_REPLAY))
+                                .stream()
+                                .map(this::toRecipientResponse)
+                                .toList();
+        }
+
         @Transactional
         public void markAsRead(Long userId, Long notificationId) {
                 int updated = notificationRecipientRepository.markAsRead(userId, notificationId);
-                if (updated == 0) {
+                if (updated > 0) {
+                        notificationCounterRepository.decrementUnread(userId, updated);
+                        eventPublisher.publishEvent(
+                                        new NotificationsReadEvent(userId, List.of(notificationId), null, updated));
+                        return;
+                }
+                // nenhuma linha alterada: já estava lida ou não existe
+                if (!notificationRecipientRepository.existsById(new NotificationRecipientId(notificationId, userId))) {
                         throw new ResourceNotFoundException(
                                         "Nao foi possivel marcar a notificacao como lida. Verifique os identificadores informados.");
                 }
         }
 
-        private NotificationResponse toNotificationResponse(Notification notification) {
-                var sender = notification.getSender();
-                var senderSummary = new NotificationResponse.UserSummary(
-                                sender.getId(),
-                                sender.getName(),
-                                sender.getEmail());
+        /**
+         * Marca várias notificações como lidas em um único UPDATE: as informadas em
+         * {@code notificationIds}, todas até {@code upToNotificationId} (inclusive) ou,
+         * sem nenhum dos dois e com {@code all}, todas as do usuário. Retorna quantas
+         * passaram de não lidas para lidas.
+         */
+        @Transactional
+        public int markManyAsRead(Long userId, NotificationBulkReadRequest request) {
+                boolean hasIds = request.notificationIds() != null && !request.notificationIds().isEmpty();
+                boolean hasUpTo = request.upToNotificationId() != null;
+
+                if ((hasIds ? 1 : 0) + (hasUpTo ? 1 : 0) + (request.all() ? 1 : 0) != 1) {
+                        throw new BadRequestException(
+                                        "Informe apenas um criterio: notificationIds, upToNotificationId ou all.");
+                }
+
+                List<Long> ids = hasIds
+                                ? request.notificationIds().stream().filter(Objects::nonNull).distinct().toList()
+                                : null;
+                if (hasIds && ids.size() > MAX_BULK_READ_IDS) {
+                        throw new BadRequestException(
+                                        "Informe no maximo " + MAX_BULK_READ_IDS + " notificacoes por chamada.");
+                }
+
+                int updated;
+                if (hasIds) {
+                        updated = notificationRecipientRepository.markAsReadByIds(userId, ids);
+                } else if (hasUpTo) {
+                        updated = notificationRecipientRepository.markAsReadUpTo(userId, request.upToNotificationId());
+                } else {
+                        updated = notificationRecipientRepository.markAllAsRead(userId);
+                }
 
-                var recipients = notification.getRecipients().stream()
-                                .map(link -> new NotificationResponse.RecipientStatus(
-                                                link.getRecipient().getId(),
-                                                link.getRecipient().getName(),
-                                                link.getRecipient().getEmail(),
-                                                link.isReadFlag(),
-                                                link.getReadAt()))
+                if (updated > 0) {
+                        notificationCounterRepository.decrementUnread(userId, updated);
+                        eventPublisher.publishEvent(
+                                        new NotificationsReadEvent(userId, ids, request.upToNotificationId(), updated));
+                }
+                return updated;
+        }
+
+        /**
+         * Quantidade de notificações não lidas, lida do contador desnormalizado
+         * (uma única linha) em vez de contar notification_recipient.
+         */
+        @Transactional(readOnly = true)
+        public long countUnread(Long userId) {
+                return notificationCounterRepository.findById(userId)
+                                .map(NotificationCounter::getUnreadCount)
+                                .orElse(0L);
+        }
+
+        private NotificationResponse toNotificationResponse(Notification notification,
+                        NotificationResponse.UserSummary sender, int recipientCount, List<UserSummaryView> recipients) {
+                // recém-criada: todos os destinatários estão como não lidos
+                var recipientStatuses = recipients == null ? null : recipients.stream()
+                                .map(recipient -> new NotificationResponse.RecipientStatus(
+                                                recipient.getId(),
+                                                recipient.getName(),
+                                                recipient.getEmail(),
+                                                false,
+                                                null))
                                 .sorted(Comparator.comparing(NotificationResponse.RecipientStatus::id))
                                 .toList();
 
@@ -123,31 +289,91 @@ public class NotificationService {
                                 notification.getTitle(),
                                 notification.getMessage(),
                                 notification.getCreatedAt(),
-                                senderSummary,
-                                recipients);
+                                sender,
+                                recipientCount,
+                                recipientStatuses);
         }
 
-        private NotificationRecipientResponse toRecipientResponse(NotificationRecipient link) {
-                var notification = link.getNotification();
+        private NotificationSummaryResponse toSummaryResponse(Notification notification) {
                 var sender = notification.getSender();
 
-                return new NotificationRecipientResponse(
+                return new NotificationSummaryResponse(
                                 notification.getId(),
-                                link.getRecipient().getId(),
+                                notification.getType().name(),
                                 notification.getTitle(),
                                 notification.getMessage(),
                                 notification.getCreatedAt(),
-                                notification.getType().name(),
                                 notification.getExam() != null ? notification.getExam().getId() : null,
                                 notification.getAssociation() != null ? notification.getAssociation().getId() : null,
-                                link.isReadFlag(),
-                                link.getReadAt(),
+                                new NotificationResponse.UserSummary(
+                                                sender.getId(),
+                                                sender.getName(),
+                                                sender.getEmail()));
+        }
+
+        private static <T> List<List<T>> chunk(List<T> items, int size) {
+                List<List<T>> chunks = new ArrayList<>();
+                for (int i = 0; i < items.size(); i += size) {
+                        chunks.add(items.subList(i, Math.min(i + size, items.size())));
+                }
+                return chunks;
+        }
+
+        private NotificationRecipientResponse toRecipientResponse(NotificationRecipient link) {
+                return toRecipientResponse(link.getNotification(), link.getRecipient().getId(), link.isReadFlag(),
+                                link.getReadAt());
+        }
+
+        private NotificationRecipientResponse toRecipientResponse(Notification notification, Long recipientId,
+                        boolean read, LocalDateTime readAt) {
+                var sender = notification.getSender();
+
+                return toRecipientResponse(notification, recipientId, read, readAt,
                                 new NotificationRecipientResponse.UserSummary(
                                                 sender.getId(),
                                                 sender.getName(),
                                                 sender.getEmail()));
         }
 
+        private NotificationRecipientResponse toRecipientResponse(Notification notification, Long recipientId,
+                        boolean read, LocalDateTime readAt, NotificationRecipientResponse.UserSummary sender) {
+                return new NotificationRecipientResponse(
+                                notification.getId(),
+                                recipientId,
+                                notification.getTitle(),
+                                notification.getMessage(),
+                                notification.getCreatedAt(),
+                                notification.getType().name(),
+                                notification.getExam() != null ? notification.getExam().getId() : null,
+                                notification.getAssociation() != null ? notification.getAssociation().getId() : null,
+                                read,
+                                readAt,
+                                sender);
+        }
+
+        /**
+         * Notificações referentes ao paciente (associações e exames), da mais
+         * recente para a mais antiga, paginadas pelo id da última recebida.
+         */
+        @Transactional(readOnly = true)
+        public NotificationPageResponse findPageByPatient(Long patientId, Long cursor, int size) {
+                if (size <= 0 || size > MAX_FEED_PAGE_SIZE) {
+                        throw new BadRequestException(
+                                        "O tamanho da pagina deve estar entre 1 e " + MAX_FEED_PAGE_SIZE + ".");
+                }
+
+                Pageable limit = PageRequest.of(0, size);
+                Slice<Notification> slice = cursor == null
+                                ? notificationRepository.findPageByPatientId(patientId, limit)
+                                : notificationRepository.findPageByPatientIdBefore(patientId, cursor, limit);
+
+                var items = slice.getContent();
+                return new NotificationPageResponse(
+                                items.stream().map(this::toSummaryResponse).toList(),
+                                slice.hasNext() ? items.get(items.size() - 1).getId() : null,
+                                slice.hasNext());
+        }
+
         @Transactional(readOnly = true)
         public List<NotificationRecipientResponse> findByPatient(Long patientId, boolean unreadOnly) {
                 var patient = userRepository.findById(patientId)
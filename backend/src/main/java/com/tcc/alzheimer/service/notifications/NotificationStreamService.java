@@ -0,0 +1,99 @@
+package com.tcc.alzheimer.service.notifications;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.tcc.alzheimer.dto.notifications.NotificationReadStreamEvent;
+import com.tcc.alzheimer.dto.notifications.NotificationRecipientResponse;
+import com.tcc.alzheimer.util.SseEmitterRegistry;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Entrega de notificações em tempo real por usuário (Server-Sent Events),
+ * substituindo o polling de {@code GET /notifications}.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationStreamService {
+
+    private static final String NOTIFICATION_EVENT = "notification";
+    private static final String READ_EVENT = "read";
+
+    private final NotificationService notificationService;
+    private final SseEmitterRegistry<Long> subscribers = new SseEmitterRegistry<>();
+
+    @Value("${notifications.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    public SseEmitter subscribe(Long userId, Long lastNotificationId) {
+        // registra antes de buscar as perdidas para não haver lacuna; repetidas
+        // são descartadas pelo cliente através do id
+        SseEmitter emitter = subscribers.register(userId, new SseEmitter(timeoutMs));
+
+        if (lastNotificationId != null) {
+            notificationService.findAfter(userId, lastNotificationId)
+                    .forEach(notification -> subscribers.send(userId, emitter, toEvent(notification)));
+        }
+
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        for (Long recipientId : event.recipientIds()) {
+            if (subscribers.hasSubscribers(recipientId)) {
+                var notification = forRecipient(event.notification(), recipientId);
+                subscribers.send(recipientId, () -> toEvent(notification));
+            }
+        }
+    }
+
+    // mantém o contador e a lista sincronizados entre abas e dispositivos
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotificationsRead(NotificationsReadEvent event) {
+        if (!subscribers.hasSubscribers(event.userId())) {
+            return;
+        }
+        var payload = new NotificationReadStreamEvent(
+                event.notificationIds(),
+                event.upToNotificationId(),
+                event.updated(),
+                notificationService.countUnread(event.userId()));
+        subscribers.send(event.userId(), () -> SseEmitter.event()
+                .name(READ_EVENT)
+                .data(payload, MediaType.APPLICATION_JSON));
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.heartbeat();
+    }
+
+    private SseEmitter.SseEventBuilder toEvent(NotificationRecipientResponse notification) {
+        return SseEmitter.event()
+                .id(String.valueOf(notification.notificationId()))
+                .name(NOTIFICATION_EVENT)
+                .data(notification, MediaType.APPLICATION_JSON);
+    }
+
+    private static NotificationRecipientResponse forRecipient(NotificationRecipientResponse template, Long recipientId) {
+        return new NotificationRecipientResponse(
+                template.notificationId(),
+                recipientId,
+                template.title(),
+                template.message(),
+                template.createdAt(),
+                template.type(),
+                template.examId(),
+                template.associationId(),
+                template.read(),
+                template.readAt(),
+                template.sender());
+    }
+}
@@ -0,0 +1,11 @@
+package com.tcc.alzheimer.service.notifications;
+
+import java.util.List;
+
+/**
+ * Publicado uma vez por operação de leitura, mesmo em lote. Quando
+ * {@code notificationIds} é nulo, a marcação foi por {@code upToNotificationId}
+ * ou, se este também for nulo, de todas as notificações do usuário.
+ */
+public record NotificationsReadEvent(Long userId, List<Long> notificationIds, Long upToNotificationId, int updated) {
+}
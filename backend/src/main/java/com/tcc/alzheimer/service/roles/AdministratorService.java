@@ -2,6 +2,7 @@ package com.tcc.alzheimer.service.roles;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -12,17 +13,21 @@ import com.tcc.alzheimer.model.enums.UserType;
 import com.tcc.alzheimer.model.roles.Administrator;
 import com.tcc.alzheimer.repository.roles.AdministratorRepository;
 import com.tcc.alzheimer.repository.roles.UserRepository;
+import com.tcc.alzheimer.service.auth.UserChangedEvent;
 
 @Service
 public class AdministratorService {
     private final AdministratorRepository repo;
     private final UserRepository UserRepo;
     private final PasswordEncoder encoder;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public AdministratorService(AdministratorRepository repo, PasswordEncoder encoder, UserRepository UserRepo) {
+    public AdministratorService(AdministratorRepository repo, PasswordEncoder encoder, UserRepository UserRepo,
+            ApplicationEventPublisher eventPublisher) {
         this.repo = repo;
         this.encoder = encoder;
         this.UserRepo = UserRepo;
+        this.eventPublisher = eventPublisher;
     }
 
     private void validatePasswordLength(String password) {
@@ -94,6 +99,7 @@ public class AdministratorService {
     public Administrator update(Long id, Administrator administrator) {
 
         Administrator existing = findById(id);
+        String previousEmail = existing.getEmail();
 
         if (administrator.getName() == null || administrator.getName().isBlank()) {
             throw new BadRequestException("Nome é obrigatório para atualização.");
@@ -119,13 +125,16 @@ public class AdministratorService {
         existing.setCpf(cleanedCpf);
         existing.setEmail(administrator.getEmail());
         existing.setPhone(cleanedPhone);
-        return repo.save(existing);
+        Administrator saved = repo.save(existing);
+        eventPublisher.publishEvent(new UserChangedEvent(id, previousEmail));
+        return saved;
     }
 
     public void delete(Long id) {
         Administrator administrator = findById(id);
         administrator.setActive(Boolean.FALSE);
         repo.save(administrator);
+        eventPublisher.publishEvent(new UserChangedEvent(id, administrator.getEmail()));
     }
 }
 
@@ -3,6 +3,7 @@ package com.tcc.alzheimer.service.roles;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +19,7 @@ import com.tcc.alzheimer.model.roles.Patient;
 import com.tcc.alzheimer.repository.roles.CaregiverRepository;
 import com.tcc.alzheimer.repository.roles.PatientRepository;
 import com.tcc.alzheimer.repository.roles.UserRepository;
+import com.tcc.alzheimer.service.auth.UserChangedEvent;
 
 @Service
 public class CaregiverService {
@@ -25,12 +27,15 @@ public class CaregiverService {
     private final PatientRepository patientRepo;
     private final UserRepository UserRepo;
     private final PasswordEncoder encoder;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CaregiverService(CaregiverRepository repo, PatientRepository patientRepo, PasswordEncoder encoder, UserRepository UserRepo) {
+    public CaregiverService(CaregiverRepository repo, PatientRepository patientRepo, PasswordEncoder encoder, UserRepository UserRepo,
+            ApplicationEventPublisher eventPublisher) {
         this.repo = repo;
         this.patientRepo = patientRepo;
         this.encoder = encoder;
         this.UserRepo = UserRepo;
+        this.eventPublisher = eventPublisher;
     }
 
     private void validatePasswordLength(String password) {
@@ -166,6 +171,7 @@ public class CaregiverService {
     @Transactional
     public CarregiverGetDto update(Long id, CaregiverPostAndPutDto dto) {
         Caregiver existing = findByIdIntern(id);
+        String previousEmail = existing.getEmail();
         
         if (dto.getName() == null || dto.getName().isBlank()) {
             throw new BadRequestException("Nome é obrigatório para atualização.");
@@ -201,6 +207,7 @@ public class CaregiverService {
         }
 
         repo.save(existing);
+        eventPublisher.publishEvent(new UserChangedEvent(id, previousEmail));
         return toDto(existing);
     }
 
@@ -208,6 +215,7 @@ public class CaregiverService {
         Caregiver caregiver = findByIdIntern(id);
         caregiver.setActive(Boolean.FALSE);
         repo.save(caregiver);
+        eventPublisher.publishEvent(new UserChangedEvent(id, caregiver.getEmail()));
     }
 
     @Transactional(readOnly = true)
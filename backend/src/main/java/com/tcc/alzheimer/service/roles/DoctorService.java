@@ -3,6 +3,7 @@ package com.tcc.alzheimer.service.roles;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +19,7 @@ import com.tcc.alzheimer.model.roles.Patient;
 import com.tcc.alzheimer.repository.roles.DoctorRepository;
 import com.tcc.alzheimer.repository.roles.PatientRepository;
 import com.tcc.alzheimer.repository.roles.UserRepository;
+import com.tcc.alzheimer.service.auth.UserChangedEvent;
 
 @Service
 public class DoctorService {
@@ -25,12 +27,15 @@ public class DoctorService {
     private final PatientRepository patientRepo;
     private final UserRepository UserRepo;
     private final PasswordEncoder encoder;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public DoctorService(DoctorRepository repo, PatientRepository patientRepo, PasswordEncoder encoder, UserRepository UserRepo) {
+    public DoctorService(DoctorRepository repo, PatientRepository patientRepo, PasswordEncoder encoder, UserRepository UserRepo,
+            ApplicationEventPublisher eventPublisher) {
         this.repo = repo;
         this.patientRepo = patientRepo;
         this.encoder = encoder;
         this.UserRepo = UserRepo;
+        this.eventPublisher = eventPublisher;
     }
     
     private void validatePasswordLength(String password) {
@@ -128,6 +133,7 @@ public class DoctorService {
     @Transactional
     public DoctorGetDto update(Long id, DoctorPostAndPutDto dto) {
         Doctor existing = findByIdIntern(id);
+        String previousEmail = existing.getEmail();
 
         if (dto.getName() == null || dto.getName().isBlank()) {
             throw new BadRequestException("Nome é obrigatório para atualização.");
@@ -161,6 +167,7 @@ public class DoctorService {
         }
 
         repo.save(existing);
+        eventPublisher.publishEvent(new UserChangedEvent(id, previousEmail));
         return toDto(existing);
 }
 
@@ -168,6 +175,7 @@ public class DoctorService {
         Doctor doctor = findByIdIntern(id);
         doctor.setActive(Boolean.FALSE);
         repo.save(doctor);
+        eventPublisher.publishEvent(new UserChangedEvent(id, doctor.getEmail()));
     }
 
     public List<BasicDtoForList> searchUsersByDoc(Long id, String query, String serviceType) {
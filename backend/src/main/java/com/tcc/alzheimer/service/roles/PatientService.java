@@ -3,6 +3,7 @@ package com.tcc.alzheimer.service.roles;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +20,7 @@ import com.tcc.alzheimer.repository.roles.CaregiverRepository;
 import com.tcc.alzheimer.repository.roles.DoctorRepository;
 import com.tcc.alzheimer.repository.roles.PatientRepository;
 import com.tcc.alzheimer.repository.roles.UserRepository;
+import com.tcc.alzheimer.service.auth.UserChangedEvent;
 
 @Service
 public class PatientService {
@@ -27,14 +29,17 @@ public class PatientService {
     private final CaregiverRepository caregiverRepo;
     private final UserRepository UserRepo;
     private final PasswordEncoder encoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PatientService(PatientRepository repo, DoctorRepository doctorRepo, CaregiverRepository caregiverRepo,
-            PasswordEncoder encoder, UserRepository UserRepo) {
+            PasswordEncoder encoder, UserRepository UserRepo,
+            ApplicationEventPublisher eventPublisher) {
         this.repo = repo;
         this.doctorRepo = doctorRepo;
         this.caregiverRepo = caregiverRepo;
         this.encoder = encoder;
         this.UserRepo = UserRepo;
+        this.eventPublisher = eventPublisher;
     }
 
     private PatientResponseGetDTO toDto(Patient patient) {
@@ -155,6 +160,7 @@ public class PatientService {
     @Transactional
     public PatientResponseGetDTO update(Long id, PatientPostAndUpdateDto dto) {
         Patient existing = findByIdIntern(id);
+        String previousEmail = existing.getEmail();
         
         if (dto.getName() == null || dto.getName().isBlank()) {
             throw new BadRequestException("Nome é obrigatório para atualização.");
@@ -190,6 +196,7 @@ public class PatientService {
         }
 
         repo.save(existing);
+        eventPublisher.publishEvent(new UserChangedEvent(id, previousEmail));
 
         return toDto(existing);
     }
@@ -198,6 +205,7 @@ public class PatientService {
         Patient patient = findByIdIntern(id);
         patient.setActive(Boolean.FALSE);
         repo.save(patient);
+        eventPublisher.publishEvent(new UserChangedEvent(id, patient.getEmail()));
     }
 
     public List<Caregiver> getCaregivers(Long id) {
@@ -0,0 +1,40 @@
+package com.tcc.alzheimer.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.tcc.alzheimer.exception.BadRequestException;
+
+/**
+ * Cursor opaco de paginação por chave composta (data, id). O cliente apenas
+ * devolve o valor recebido; o formato interno pode mudar sem quebrar a API.
+ */
+public record KeysetCursor(LocalDateTime timestamp, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new BadRequestException("Cursor de paginação inválido");
+            }
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Cursor de paginação inválido");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.tcc.alzheimer.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.tcc.alzheimer.exception.BadRequestException;
+
+/**
+ * Cursor opaco para resultados ordenados por relevância (rank, id), no mesmo
+ * formato de {@link KeysetCursor}.
+ */
+public record RankCursor(float rank, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = Float.toString(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RankCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new BadRequestException("Cursor de paginação inválido");
+            }
+            return new RankCursor(
+                    Float.parseFloat(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor de paginação inválido");
+        }
+    }
+}
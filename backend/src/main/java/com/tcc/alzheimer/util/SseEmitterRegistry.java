@@ -0,0 +1,77 @@
+package com.tcc.alzheimer.util;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Registro em memória de conexões SSE agrupadas por chave (ex.: id do chat).
+ * As conexões são removidas automaticamente ao completar, expirar ou falhar.
+ */
+public class SseEmitterRegistry<K> {
+
+    private final Map<K, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public SseEmitter register(K key, SseEmitter emitter) {
+        emitters.compute(key, (ignored, current) -> {
+            Set<SseEmitter> target = current != null ? current : ConcurrentHashMap.newKeySet();
+            target.add(emitter);
+            return target;
+        });
+
+        emitter.onCompletion(() -> unregister(key, emitter));
+        emitter.onTimeout(() -> unregister(key, emitter));
+        emitter.onError(error -> unregister(key, emitter));
+        return emitter;
+    }
+
+    public void unregister(K key, SseEmitter emitter) {
+        emitters.computeIfPresent(key, (ignored, current) -> {
+            current.remove(emitter);
+            return current.isEmpty() ? null : current;
+        });
+    }
+
+    public boolean hasSubscribers(K key) {
+        return emitters.containsKey(key);
+    }
+
+    /**
+     * Envia o evento para todas as conexões da chave. O builder é criado por
+     * conexão porque cada envio consome o evento montado.
+     */
+    public void send(K key, Supplier<SseEmitter.SseEventBuilder> event) {
+        Set<SseEmitter> targets = emitters.get(key);
+        if (targets == null) {
+            return;
+        }
+        for (SseEmitter emitter : targets) {
+            send(key, emitter, event.get());
+        }
+    }
+
+    public void send(K key, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            unregister(key, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Mantém as conexões abertas atrás de proxies e descarta as que já caíram.
+     */
+    public void heartbeat() {
+        emitters.forEach((key, targets) -> targets
+                .forEach(emitter -> send(key, emitter, SseEmitter.event().comment("ping"))));
+    }
+
+    public int size() {
+        return emitters.values().stream().mapToInt(Set::size).sum();
+    }
+}
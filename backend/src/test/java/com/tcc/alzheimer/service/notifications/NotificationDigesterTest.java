@@ -0,0 +1,58 @@
+package com.tcc.alzheimer.service.notifications;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.tcc.alzheimer.dto.notifications.NotificationCreateRequest;
+import com.tcc.alzheimer.model.enums.NotificationType;
+
+/**
+ * Resumo de rajadas de notificações: cada solicitação de associação tem o
+ * próprio id, e ainda assim as de um mesmo remetente devem virar uma só.
+ */
+class NotificationDigesterTest {
+
+    private static final Long DOCTOR_ID = 1L;
+    private static final Long PATIENT_ID = 2L;
+
+    private final NotificationDigester digester = new NotificationDigester();
+
+    @Test
+    void coalesceMergesAssociationRequestsFromTheSameSender() {
+        List<NotificationCreateRequest> requests = LongStream.rangeClosed(1, 5)
+                .mapToObj(associationId -> associationRequest(DOCTOR_ID, associationId))
+                .toList();
+
+        List<NotificationCreateRequest> digests = digester.coalesce(requests);
+
+        assertThat(digests).hasSize(1);
+        NotificationCreateRequest digest = digests.get(0);
+        assertThat(digest.senderId()).isEqualTo(DOCTOR_ID);
+        assertThat(digest.recipientIds()).containsExactly(PATIENT_ID);
+        assertThat(digest.associationId()).isNull();
+        assertThat(digest.title()).isEqualTo("5 novas notificações");
+        assertThat(digest.message().lines()).hasSize(5);
+    }
+
+    @Test
+    void coalesceKeepsDifferentSendersApart() {
+        List<NotificationCreateRequest> digests = digester.coalesce(List.of(
+                associationRequest(DOCTOR_ID, 10L),
+                associationRequest(3L, 11L),
+                associationRequest(DOCTOR_ID, 12L)));
+
+        assertThat(digests).hasSize(2);
+        assertThat(digests).extracting(NotificationCreateRequest::senderId).containsExactly(DOCTOR_ID, 3L);
+        assertThat(digests.get(1).associationId()).isEqualTo(11L);
+    }
+
+    private static NotificationCreateRequest associationRequest(Long senderId, Long associationId) {
+        return new NotificationCreateRequest(senderId, NotificationType.RELATIONAL_UPDATE,
+                "Nova solicitação de associação", "Solicitação " + associationId, List.of(PATIENT_ID),
+                associationId);
+    }
+}
@@ -0,0 +1,179 @@
+package com.tcc.alzheimer.service.notifications;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.tcc.alzheimer.dto.notifications.NotificationCreateRequest;
+import com.tcc.alzheimer.model.enums.NotificationType;
+import com.tcc.alzheimer.model.notifications.Notification;
+import com.tcc.alzheimer.model.roles.User;
+import com.tcc.alzheimer.repository.Association.AssociationRequestRepository;
+import com.tcc.alzheimer.repository.notifications.NotificationCounterRepository;
+import com.tcc.alzheimer.repository.notifications.NotificationRecipientRepository;
+import com.tcc.alzheimer.repository.notifications.NotificationRepository;
+import com.tcc.alzheimer.repository.roles.UserRepository;
+import com.tcc.alzheimer.repository.roles.UserSummaryView;
+
+/**
+ * Verifica as consultas feitas por {@link NotificationService#createAndSend}:
+ * cada etapa deve custar um comando por bloco de destinatários, e nenhuma
+ * associação da notificação (remetente ou destinatários) pode ser lida, o que
+ * dispararia o carregamento lazy das entidades {@code User} e
+ * {@code NotificationRecipient}.
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+
+    private static final Long SENDER_ID = 1L;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private NotificationRecipientRepository notificationRecipientRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private NotificationCounterRepository notificationCounterRepository;
+    @Mock
+    private AssociationRequestRepository associationRequestRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private User senderReference;
+
+    @InjectMocks
+    private NotificationService notificationService;
+
+    private Notification saved;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findActiveSummaryById(SENDER_ID))
+                .thenReturn(Optional.of(new Summary(SENDER_ID, "Remetente", "remetente@tcc.com")));
+        when(userRepository.getReferenceById(SENDER_ID)).thenReturn(senderReference);
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> {
+            Notification notification = invocation.getArgument(0);
+            notification.setId(10L);
+            notification.setCreatedAt(LocalDateTime.now());
+            saved = spy(notification);
+            return saved;
+        });
+    }
+
+    @Test
+    void createAndSendWithThousandRecipientsIssuesOneStatementPerStep() {
+        when(userRepository.findActiveSummariesByIdIn(anyCollection()))
+                .thenAnswer(invocation -> summariesOf(invocation.getArgument(0)));
+
+        var response = notificationService.createAndSend(request(1000));
+
+        assertThat(response.recipientCount()).isEqualTo(1000);
+        assertThat(response.recipients()).hasSize(1000);
+        assertThat(response.sender().name()).isEqualTo("Remetente");
+
+        verify(userRepository).findActiveSummaryById(SENDER_ID);
+        verify(userRepository).getReferenceById(SENDER_ID);
+        verify(userRepository, times(1)).findActiveSummariesByIdIn(anyCollection());
+        verifyNoMoreInteractions(userRepository);
+
+        verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(notificationRecipientRepository, times(1)).insertRecipients(eq(10L), any(), anyCollection());
+        verify(notificationCounterRepository, times(1)).incrementUnread(anyCollection(), anyLong());
+        verifyNoMoreInteractions(notificationRepository, notificationRecipientRepository,
+                notificationCounterRepository);
+        verifyNoAssociationAccess();
+    }
+
+    @Test
+    void createAndSendWithRecipientCountOnlySkipsRecipientSummaries() {
+        when(userRepository.findActiveIdsByIdIn(anyCollection()))
+                .thenAnswer(invocation -> List.copyOf(invocation.<Collection<Long>>getArgument(0)));
+
+        var response = notificationService.createAndSend(request(1000), true);
+
+        assertThat(response.recipientCount()).isEqualTo(1000);
+        assertThat(response.recipients()).isNull();
+
+        verify(userRepository, times(1)).findActiveIdsByIdIn(anyCollection());
+        verify(userRepository, never()).findActiveSummariesByIdIn(anyCollection());
+        verify(notificationRecipientRepository, times(1)).insertRecipients(eq(10L), any(), anyCollection());
+        verifyNoAssociationAccess();
+    }
+
+    @Test
+    void createAndSendSplitsLargeBroadcastsIntoChunks() {
+        when(userRepository.findActiveSummariesByIdIn(anyCollection()))
+                .thenAnswer(invocation -> summariesOf(invocation.getArgument(0)));
+
+        var response = notificationService.createAndSend(request(2500));
+
+        assertThat(response.recipientCount()).isEqualTo(2500);
+        verify(userRepository, times(3)).findActiveSummariesByIdIn(anyCollection());
+        verify(notificationRecipientRepository, times(3)).insertRecipients(eq(10L), any(), anyCollection());
+        verify(notificationCounterRepository, times(3)).incrementUnread(anyCollection(), anyLong());
+        verify(notificationRepository, times(1)).save(any(Notification.class));
+    }
+
+    // o proxy do remetente e as coleções lazy só seriam inicializados por um getter
+    private void verifyNoAssociationAccess() {
+        verifyNoInteractions(senderReference);
+        verify(saved, never()).getSender();
+        verify(saved, never()).getRecipients();
+        verify(saved, never()).addRecipient(any());
+    }
+
+    private static NotificationCreateRequest request(int recipients) {
+        // destinatários a partir do id 2, para não incluir o remetente
+        List<Long> recipientIds = LongStream.rangeClosed(2, recipients + 1).boxed().toList();
+        return new NotificationCreateRequest(SENDER_ID, NotificationType.RELATIONAL_UPDATE, "Titulo", "Mensagem",
+                recipientIds, null);
+    }
+
+    private static List<UserSummaryView> summariesOf(Collection<Long> ids) {
+        return ids.stream()
+                .<UserSummaryView>map(id -> new Summary(id, "Usuario " + id, "usuario" + id + "@tcc.com"))
+                .toList();
+    }
+
+    private record Summary(Long id, String name, String email) implements UserSummaryView {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+    }
+}